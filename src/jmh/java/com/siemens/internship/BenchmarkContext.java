@@ -0,0 +1,97 @@
+package com.siemens.internship;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application, with or without a web server, on its own in-memory H2 database for JMH benchmarks.
+ */
+final class BenchmarkContext implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Boots the application without a web server; {@code properties} are extra "key=value" overrides.
+     */
+    static BenchmarkContext start(String... properties) {
+        return new BenchmarkContext(new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1")
+                .run(commandLine(properties)));
+    }
+
+    /**
+     * Boots the application with Tomcat on a random port; {@code properties} are extra "key=value" overrides.
+     */
+    static BenchmarkContext startWeb(String... properties) {
+        return new BenchmarkContext(new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .logStartupInfo(false)
+                .properties(
+                        "logging.level.root=WARN",
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1")
+                // load benchmarks send everything from one address; measure the server, not the rate limit
+                .run(commandLine(Stream.concat(Stream.of("items.rate-limit.enabled=false"), Arrays.stream(properties))
+                        .toArray(String[]::new))));
+    }
+
+    /**
+     * Overrides as command line arguments, which take precedence over application.properties.
+     */
+    private static String[] commandLine(String... properties) {
+        return Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new);
+    }
+
+    int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Replaces the table contents with {@code rows} NEW items using one set-based INSERT,
+     * then moves the ID sequence past them so application inserts do not collide.
+     * The writes run in one transaction, so readers never see a half-seeded table.
+     */
+    void seed(int rows) {
+        JdbcTemplate jdbc = bean(JdbcTemplate.class);
+        bean(TransactionTemplate.class).executeWithoutResult(status -> {
+            jdbc.update("DELETE FROM item");
+            jdbc.update("INSERT INTO item (id, name, description, status, email, version) "
+                    + "SELECT x, 'Item' || x, 'desc', ?, 'item' || x || '@bench.com', 0 FROM SYSTEM_RANGE(1, ?)",
+                    ItemStatus.NEW.getCode(), rows);
+        });
+        jdbc.execute("ALTER SEQUENCE " + ItemIdGenerator.SEQUENCE_NAME + " RESTART WITH " + (rows + 1));
+    }
+
+    /**
+     * Marks every item PROCESSED except roughly {@code pendingPercent}% of them, spread evenly, which go back to NEW.
+     */
+    void resetStatuses(int pendingPercent) {
+        JdbcTemplate jdbc = bean(JdbcTemplate.class);
+        bean(TransactionTemplate.class).executeWithoutResult(status ->
+                jdbc.update("UPDATE item SET status = CASE WHEN MOD(id, 100) < ? THEN ? ELSE ? END",
+                        pendingPercent, ItemStatus.NEW.getCode(), ItemStatus.PROCESSED.getCode()));
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,72 @@
+package com.siemens.internship;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles of /process and the CRUD endpoints under concurrent HTTP load,
+ * per {@code items.processing.execution-mode}. Only {@code FIXED} runs by default, since the project
+ * targets Java 17; on a Java 21+ runtime add the virtual modes with
+ * {@code -Djmh.args="ItemHttpLoad -p mode=FIXED,VIRTUAL,BOUNDED_VIRTUAL"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(64)
+@Fork(1)
+public class ItemHttpLoadBenchmark {
+
+    @Param({"FIXED"})
+    private String mode;
+
+    @Param({"1000"})
+    private int rows;
+
+    private BenchmarkContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWeb("items.processing.execution-mode=" + mode);
+        context.seed(rows);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + context.port() + "/api/items";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getById() throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1, rows + 1);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET());
+    }
+
+    @Benchmark
+    public int create() throws Exception {
+        String body = "{\"name\":\"Load\",\"description\":\"desc\",\"status\":\"NEW\",\"email\":\"load@bench.com\"}";
+        return send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    @Benchmark
+    public int process() throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/process")).GET());
+    }
+
+    private int send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
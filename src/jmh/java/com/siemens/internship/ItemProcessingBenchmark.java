@@ -0,0 +1,56 @@
+package com.siemens.internship;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of one processing run, full or incremental, with a given share of the table pending.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ItemProcessingBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean incremental;
+
+    @Param({"100", "1"})
+    private int pendingPercent;
+
+    private BenchmarkContext context;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("items.processing.incremental=" + incremental);
+        context.seed(rows);
+        itemService = context.bean(ItemService.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatuses() {
+        context.resetStatuses(pendingPercent);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int processItemsAsync() {
+        return itemService.processItemsAsync().join().size();
+    }
+
+    @Benchmark
+    public long processAllInChunks() {
+        return itemService.processAllInChunks(chunk -> { }).join();
+    }
+}
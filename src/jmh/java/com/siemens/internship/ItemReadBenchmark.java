@@ -0,0 +1,68 @@
+package com.siemens.internship;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-table findAll (managed entities) compared with streaming views and walking the keyset
+ * pages (both projections), plus the cost of a single deep page.
+ * Run with {@code -prof gc} to see the allocation per operation (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ItemReadBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private BenchmarkContext context;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        context.seed(rows);
+        itemService = context.bean(ItemService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int findAll() {
+        return itemService.findAll().size();
+    }
+
+    @Benchmark
+    public long exportAll() {
+        return itemService.exportAll(view -> { });
+    }
+
+    @Benchmark
+    public int pagedWalk() {
+        int count = 0;
+        Long after = null;
+        CursorPage<ItemView> page;
+        do {
+            page = itemService.findPage(after, PAGE_SIZE, null, Sort.Direction.ASC);
+            count += page.items().size();
+            after = page.nextCursor();
+        } while (page.hasNext());
+        return count;
+    }
+
+    @Benchmark
+    public int deepPage() {
+        return itemService.findPage((long) rows / 2, PAGE_SIZE, null, Sort.Direction.ASC).items().size();
+    }
+}
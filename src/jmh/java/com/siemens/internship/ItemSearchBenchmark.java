@@ -0,0 +1,96 @@
+package com.siemens.internship;
+
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the in-memory search index over synthetic item text, one page of 100 results.
+ * Words are drawn from a skewed vocabulary so there are both rare and very common terms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ItemSearchBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemSearchBenchmark.class);
+    private static final int VOCABULARY = 20_000;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"100000", "1000000"})
+    private int items;
+
+    private ItemSearchIndex index;
+    private String[] words;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = randomWord(random);
+        }
+        index = new ItemSearchIndex();
+        long start = System.nanoTime();
+        for (long id = 1; id <= items; id++) {
+            index.index(new ItemSearchIndex.Document(id, text(random, 3), text(random, 12)));
+        }
+        log.info("Indexed {} items in {} ms", items, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * One word that occurs in a few hundred items per million.
+     */
+    @Benchmark
+    public ItemSearchIndex.Result rareWord() {
+        return index.search(words[5_000], 0, PAGE_SIZE);
+    }
+
+    /**
+     * One of the most frequent words, matching several percent of all items.
+     */
+    @Benchmark
+    public ItemSearchIndex.Result commonWord() {
+        return index.search(words[1], 0, PAGE_SIZE);
+    }
+
+    /**
+     * A rare and a common word together.
+     */
+    @Benchmark
+    public ItemSearchIndex.Result twoWords() {
+        return index.search(words[5_000] + " " + words[1], 0, PAGE_SIZE);
+    }
+
+    /**
+     * A two-letter prefix, expanding to many terms.
+     */
+    @Benchmark
+    public ItemSearchIndex.Result shortPrefix() {
+        return index.search(words[3].substring(0, 2), 0, PAGE_SIZE);
+    }
+
+    private String text(Random random, int wordCount) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            // cubing a uniform value skews picks towards the start of the vocabulary
+            double skew = random.nextDouble();
+            text.append(words[(int) (skew * skew * skew * VOCABULARY)]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+}
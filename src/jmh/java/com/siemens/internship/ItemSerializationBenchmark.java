@@ -0,0 +1,42 @@
+package com.siemens.internship;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of Item lists as returned by the listing endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ItemSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private ObjectWriter listWriter;
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        listWriter = new ObjectMapper().writerFor(Item[].class);
+        items = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            items.add(new Item(i, "Item" + i, "description " + i, ItemStatus.NEW, "item" + i + "@bench.com", 0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(items.toArray(new Item[0]));
+    }
+}
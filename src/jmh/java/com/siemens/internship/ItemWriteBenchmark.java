@@ -0,0 +1,62 @@
+package com.siemens.internship;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput: one save per item versus batched createAll. Scores are items per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ItemWriteBenchmark {
+
+    private static final int BATCH = 500;
+
+    private BenchmarkContext context;
+    private ItemService itemService;
+    private ItemRepository itemRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        context.seed(0);
+        itemService = context.bean(ItemService.class);
+        itemRepository = context.bean(ItemRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        itemRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Item singleSave() {
+        return itemService.save(newItem(0));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<BatchItemResult> batchedCreateAll() {
+        List<Item> items = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            items.add(newItem(i));
+        }
+        return itemService.createAll(items);
+    }
+
+    private static Item newItem(int i) {
+        return new Item(null, "Item" + i, "desc", ItemStatus.NEW, "item" + i + "@bench.com");
+    }
+}
@@ -0,0 +1,80 @@
+package com.siemens.internship;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Concurrency limit that adapts to latency by additive increase, multiplicative decrease (AIMD).
+ *
+ * A request that completes fast raises the limit by {@code 1 / limit}, so by about one per limit's
+ * worth of requests, but only while the limit is at least half used. A slow or failed request
+ * multiplies it by the backoff ratio. The limit and the in-flight count are updated by
+ * compare-and-set, without locks.
+ */
+final class AimdConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+
+    AimdConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(
+                Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit))));
+    }
+
+    /**
+     * Admits one request if fewer than the current limit are in flight; it must then be released.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and adjusts the limit by how it went.
+     *
+     * @param failed whether the request failed because the service is overloaded
+     */
+    void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            update(limit -> Math.max(minLimit, limit * backoffRatio));
+        } else if (current * 2 >= limit()) {
+            update(limit -> Math.min(maxLimit, limit + 1 / limit));
+        }
+    }
+
+    /**
+     * Releases an admitted request without taking its latency into account.
+     */
+    void releaseUnsampled() {
+        inFlight.decrementAndGet();
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(DoubleUnaryOperator change) {
+        limitBits.getAndUpdate(bits -> Double.doubleToLongBits(change.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+}
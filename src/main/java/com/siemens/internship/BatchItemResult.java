@@ -0,0 +1,38 @@
+package com.siemens.internship;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+
+/**
+ * Outcome of one element of a batch request.
+ *
+ * @param index  position of the element in the request body
+ * @param id     ID of the affected item, when known
+ * @param status HTTP status code describing the outcome of this element
+ * @param errors field -> error message for rejected elements
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record BatchItemResult(int index, Long id, int status, Map<String, String> errors) {
+
+    public static BatchItemResult success(int index, Long id, HttpStatus status) {
+        return new BatchItemResult(index, id, status.value(), Map.of());
+    }
+
+    public static BatchItemResult failure(int index, Long id, HttpStatus status, Map<String, String> errors) {
+        return new BatchItemResult(index, id, status.value(), errors);
+    }
+
+    public static BatchItemResult failure(int index, Long id, HttpStatus status, String error) {
+        return failure(index, id, status, Map.of("error", error));
+    }
+
+    public boolean isFailure() {
+        return status >= 400;
+    }
+
+    public BatchItemResult withIndex(int newIndex) {
+        return new BatchItemResult(newIndex, id, status, errors);
+    }
+}
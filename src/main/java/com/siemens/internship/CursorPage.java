@@ -0,0 +1,16 @@
+package com.siemens.internship;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param items      the rows of this page
+ * @param nextCursor value to pass as {@code after} to fetch the next page, or null on the last page
+ */
+public record CursorPage<T>(List<T> items, Long nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.siemens.internship;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.core.NestedExceptionUtils;
+
+import java.time.Instant;
+
+/**
+ * An item whose processing failed on its own with a non-transient error (a "poison" item).
+ * The item itself is set to {@link ItemStatus#FAILED}, so incremental runs skip it until it is
+ * requeued through {@code POST /api/items/dead-letters/{itemId}/requeue}, or with the rest of its
+ * job's through {@code POST /api/items/jobs/{jobId}/failures/requeue}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class DeadLetterItem {
+
+    static final int MAX_REASON_LENGTH = 1000;
+
+    @Id
+    private Long itemId;
+
+    @Column(length = MAX_REASON_LENGTH)
+    private String reason;
+    private int failures;
+    private Instant firstFailedAt;
+    private Instant lastFailedAt;
+
+    DeadLetterItem(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    void recordFailure(Throwable failure) {
+        Instant now = Instant.now();
+        if (firstFailedAt == null) {
+            firstFailedAt = now;
+        }
+        lastFailedAt = now;
+        failures++;
+        reason = reasonOf(failure);
+    }
+
+    /**
+     * Type and message of the root cause of {@code failure}, cut to fit the reason column.
+     */
+    static String reasonOf(Throwable failure) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(failure);
+        String reason = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+    }
+}
@@ -0,0 +1,17 @@
+package com.siemens.internship;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for {@link DeadLetterItem}s, keyed by item ID.
+ */
+public interface DeadLetterItemRepository extends JpaRepository<DeadLetterItem, Long> {
+
+    /**
+     * Keyset page of dead-lettered items with an item ID greater than {@code afterId}.
+     */
+    List<DeadLetterItem> findByItemIdGreaterThanOrderByItemIdAsc(long afterId, Limit limit);
+}
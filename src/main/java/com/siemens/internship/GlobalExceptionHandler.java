@@ -1,13 +1,19 @@
 package com.siemens.internship;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Handles global exceptions and validation errors across all controllers.
@@ -30,6 +36,51 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles request bodies that are not valid JSON or do not fit the target type,
+     * e.g. an unknown item status.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, String>> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        return new ResponseEntity<>(Map.of("error", "Malformed request body"), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles path variables and query parameters that cannot be converted, e.g. ?status=UNKNOWN.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        return new ResponseEntity<>(Map.of(ex.getName(), "Invalid value '" + ex.getValue() + "'"), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles writes rejected because the item was modified concurrently (stale If-Match).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return new ResponseEntity<>("Item was modified concurrently", HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Handles work the processing executor could not accept because it is saturated.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejectedExecution(RejectedExecutionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Processing capacity exhausted, try again later");
+    }
+
+    /**
+     * Handles requests that got no database connection within spring.datasource.hikari.connection-timeout.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<String> handleNoConnection(CannotCreateTransactionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Database busy, try again later");
+    }
+
     /**
      * Handles all other unhandled exceptions.
      */
@@ -1,16 +1,32 @@
 package com.siemens.internship;
 
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
 
 /**
  * Entry point of the Spring Boot application.
  * This class bootstraps the app using Spring Boot's auto-configuration.
  */
 @SpringBootApplication
+@EnableCaching
+@EnableConfigurationProperties({ItemProcessingProperties.class, ItemExportProperties.class, ItemRateLimitProperties.class})
 public class InternshipApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(InternshipApplication.class, args);
 	}
+
+	/**
+	 * Keeps beans that do their work once all singletons exist (e.g. building the search index)
+	 * eager when spring.main.lazy-initialization is on; created lazily, they would never run it.
+	 */
+	@Bean
+	static LazyInitializationExcludeFilter startupWorkIsEager() {
+		return LazyInitializationExcludeFilter.forBeanTypes(SmartInitializingSingleton.class);
+	}
 }
@@ -1,9 +1,11 @@
 package com.siemens.internship;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -18,13 +20,18 @@ import lombok.Setter;
  * Includes basic validation annotations.
  */
 @Entity
+@Table(indexes = {
+        // also serves lookups by status alone, as its leading column
+        @Index(name = "idx_item_status_id", columnList = "status, id"),
+        @Index(name = "idx_item_email", columnList = "email")
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @PooledItemId
     private Long id;
 
     @NotBlank(message = "Name cannot be blank")
@@ -32,9 +39,25 @@ public class Item {
     private String name;
 
     private String description;
-    private String status;
+
+    @Column(length = 1)
+    private ItemStatus status;
 
     @Email(message = "Invalid email format")
     @NotBlank(message = "Email cannot be blank")
     private String email;
-}
\ No newline at end of file
+
+    /**
+     * Optimistic locking version, incremented on every update.
+     * Exposed to HTTP clients as the item's ETag.
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Creates an item without a version; JPA assigns one when it is first persisted.
+     */
+    public Item(Long id, String name, String description, ItemStatus status, String email) {
+        this(id, name, description, status, email, null);
+    }
+}
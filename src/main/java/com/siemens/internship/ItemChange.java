@@ -0,0 +1,56 @@
+package com.siemens.internship;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One entry of the item change feed ({@code GET /api/items/changes}), written by {@link ItemChangeLog}.
+ *
+ * Created and updated entries carry the item's state as of the change; deleted entries only the item ID.
+ * Status transitions, including those made by processing, are updates.
+ */
+@Entity
+@Table(name = "item_change")
+@Getter
+@NoArgsConstructor
+public class ItemChange {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * Position in the feed. Increases in commit order, so a consumer can resume after the last one it saw.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long itemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", length = 7)
+    private Type type;
+
+    private Long version;
+    private String name;
+    private String description;
+
+    @Column(length = 1)
+    private ItemStatus status;
+
+    private String email;
+    private Instant changedAt;
+}
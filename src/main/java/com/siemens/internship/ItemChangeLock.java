@@ -0,0 +1,25 @@
+package com.siemens.internship;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row {@link ItemChangeLog} locks while a transaction appends to the change feed.
+ * The lock lives in the database, so the feed order holds across every instance sharing it.
+ */
+@Entity
+@Table(name = "item_change_lock")
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemChangeLock {
+
+    static final long ID = 1;
+
+    @Id
+    private Long id;
+}
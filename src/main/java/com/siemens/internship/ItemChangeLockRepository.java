@@ -0,0 +1,22 @@
+package com.siemens.internship;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for the change feed's lock row.
+ */
+public interface ItemChangeLockRepository extends JpaRepository<ItemChangeLock, Long> {
+
+    /**
+     * Reads the row with SELECT ... FOR UPDATE, holding its lock until the caller's transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Transactional(propagation = Propagation.MANDATORY)
+    Optional<ItemChangeLock> findLockedById(Long id);
+}
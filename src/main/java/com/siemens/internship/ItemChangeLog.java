@@ -0,0 +1,159 @@
+package com.siemens.internship;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transactional outbox of item mutations, read as an ordered change feed.
+ *
+ * Writers record which items they touched; the entries are written by the same transaction, right
+ * before it commits, so the feed never shows a write that was rolled back and never misses one that
+ * committed. Entry IDs come from an identity column, and a transaction writes them holding the row
+ * lock of {@link ItemChangeLock} (SELECT ... FOR UPDATE) until it commits, so IDs become visible in
+ * increasing order: a consumer that has seen entry N will never find a new entry below N later.
+ * The lock is the database's, so this holds across instances.
+ *
+ * Writers only contend for it from the start of their commit: pending entity changes are flushed
+ * before it is taken, so the only statements run under it are the inserts into item_change, which
+ * never wait for item row locks.
+ */
+@Component
+class ItemChangeLog implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemChangeLog.class);
+
+    private final Set<CompletableFuture<Void>> waiters = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private ItemChangeRepository changeRepository;
+
+    @Autowired
+    private ItemChangeLockRepository lockRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Creates the lock row unless it exists; another instance starting at the same time may win the race.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!lockRepository.existsById(ItemChangeLock.ID)) {
+            try {
+                lockRepository.save(new ItemChangeLock(ItemChangeLock.ID));
+            } catch (DataIntegrityViolationException ex) {
+                log.debug("Change feed lock row created concurrently", ex);
+            }
+        }
+    }
+
+    /**
+     * Records the state of the given items as of commit. Must be called inside a transaction.
+     */
+    void recordItems(Collection<Long> ids, ItemChange.Type type) {
+        if (!ids.isEmpty()) {
+            List<Long> copy = List.copyOf(ids);
+            pending().appends.add(() -> changeRepository.appendItems(copy, type.name()));
+        }
+    }
+
+    /**
+     * Records the state of every item with {@code fromId <= id <= toId} as of commit.
+     */
+    void recordItemRange(long fromId, long toId, ItemChange.Type type) {
+        pending().appends.add(() -> changeRepository.appendItemRange(fromId, toId, type.name()));
+    }
+
+    /**
+     * Records that the given items were deleted. Must be called inside a transaction.
+     */
+    void recordDeletes(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            Long[] copy = ids.toArray(Long[]::new);
+            pending().appends.add(() -> changeRepository.appendDeletes(copy));
+        }
+    }
+
+    /**
+     * Changes after {@code afterId}, oldest first.
+     */
+    List<ItemChange> read(long afterId, int limit) {
+        return changeRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+
+    /**
+     * Completes when the next transaction that recorded changes commits, or after {@code timeout}.
+     * Obtain it before reading, so a commit in between is not missed.
+     */
+    CompletableFuture<Void> nextCommit(Duration timeout) {
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        waiter.whenComplete((ignored, ex) -> waiters.remove(waiter));
+        return waiter.completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private PendingChanges pending() {
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                throw new IllegalStateException("Item changes must be recorded inside a transaction");
+            }
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    /**
+     * The appends recorded by one transaction, run in recording order when it commits.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<Runnable> appends = new ArrayList<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(ItemChangeLog.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ItemChangeLog.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            entityManager.flush();
+            lockRepository.findLockedById(ItemChangeLock.ID)
+                    .orElseThrow(() -> new IllegalStateException("Change feed lock row is missing"));
+            appends.forEach(Runnable::run);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ItemChangeLog.this);
+            if (status == STATUS_COMMITTED) {
+                waiters.forEach(waiter -> waiter.complete(null));
+            }
+        }
+    }
+}
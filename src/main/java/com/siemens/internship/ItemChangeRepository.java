@@ -0,0 +1,44 @@
+package com.siemens.internship;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the item change feed.
+ * The appends copy item rows with one INSERT ... SELECT and must run inside the caller's transaction.
+ */
+@Transactional(readOnly = true)
+public interface ItemChangeRepository extends JpaRepository<ItemChange, Long> {
+
+    /**
+     * Changes after {@code afterId}, oldest first.
+     */
+    List<ItemChange> findByIdGreaterThanOrderByIdAsc(long afterId, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO item_change (item_id, change_type, version, name, description, status, email, changed_at) "
+            + "SELECT id, :type, version, name, description, status, email, CURRENT_TIMESTAMP FROM item "
+            + "WHERE id IN :ids ORDER BY id", nativeQuery = true)
+    int appendItems(@Param("ids") Collection<Long> ids, @Param("type") String type);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO item_change (item_id, change_type, version, name, description, status, email, changed_at) "
+            + "SELECT id, :type, version, name, description, status, email, CURRENT_TIMESTAMP FROM item "
+            + "WHERE id BETWEEN :fromId AND :toId ORDER BY id", nativeQuery = true)
+    int appendItemRange(@Param("fromId") long fromId, @Param("toId") long toId, @Param("type") String type);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO item_change (item_id, change_type, changed_at) "
+            + "SELECT x, 'DELETED', CURRENT_TIMESTAMP FROM UNNEST(:ids) AS deleted(x) ORDER BY x", nativeQuery = true)
+    int appendDeletes(@Param("ids") Long[] ids);
+}
@@ -1,15 +1,42 @@
 package com.siemens.internship;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 
 import java.util.List;
@@ -22,24 +49,180 @@ import java.util.Optional;
 @RequestMapping("/api/items")
 public class ItemController {
 
+    /**
+     * Media type for newline-delimited JSON request bodies: one item per line.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Response header carrying the {@code after} value for the next page of items.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Response header carrying the number of items matching a search.
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_CHANGES_WAIT_SECONDS = 60;
+
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ProcessingJobService processingJobService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Its chunk-size is also the number of validated batch elements handed to the service at once.
+     */
+    @Autowired
+    private ItemProcessingProperties processingProperties;
+
     @Autowired
     public ItemController(ItemService itemService) {
         this.itemService = itemService;
     }
 
     /**
-     * Get all items.
+     * Get items one keyset page at a time, ordered by ID.
+     *
+     * The body is the array of items on this page. When more items follow, the response carries
+     * the cursor in {@code X-Next-Cursor} and a {@code Link: <...>; rel="next"} header.
+     * The page has an ETag; a poll with a matching {@code If-None-Match} gets 304 Not Modified.
+     * Clients accepting gzip get it as a weak validator, see {@link #pageETag}.
+     *
+     * @param after  ID of the last item already seen (exclusive)
+     * @param limit  page size, clamped to 1..{@value #MAX_PAGE_SIZE}
+     * @param status optional status filter
+     * @param sort   "asc" (default) or "desc" by ID
      */
     @GetMapping
-    public ResponseEntity<List<Item>> getAllItems() {
-        return new ResponseEntity<>(itemService.findAll(), HttpStatus.OK);
+    public ResponseEntity<?> getAllItems(@RequestParam(required = false) Long after,
+                                         @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                         @RequestParam(required = false) ItemStatus status,
+                                         @RequestParam(defaultValue = "asc") String sort,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Optional<Sort.Direction> direction = Sort.Direction.fromOptionalString(sort);
+        if (direction.isEmpty()) {
+            return new ResponseEntity<>(Map.of("sort", "Sort must be 'asc' or 'desc'"), HttpStatus.BAD_REQUEST);
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        CursorPage<ItemView> page = itemService.findPage(after, pageSize, status, direction.get());
+
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext()) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", page.nextCursor())
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            headers.add(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        headers.setETag(pageETag(page, acceptsGzip(acceptEncoding)));
+        headers.setCacheControl(CacheControl.noCache());
+        // Spring answers a matching If-None-Match with 304 before the body is serialized
+        return new ResponseEntity<>(page.items(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Search items by keywords in their name and description, best match first.
+     *
+     * Every word of {@code q} must match, either a whole word of the item or the start of one,
+     * so "lap pro" finds "Laptop Pro". The number of matches is sent in {@code X-Total-Count};
+     * when more results follow, the next offset is sent in {@code X-Next-Cursor}.
+     *
+     * @param q      search words
+     * @param offset number of best matches to skip
+     * @param limit  page size, clamped to 1..{@value #MAX_PAGE_SIZE}
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchItems(@RequestParam(required = false) String q,
+                                         @RequestParam(defaultValue = "0") int offset,
+                                         @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (q == null || ItemSearchIndex.tokenize(q).findAny().isEmpty()) {
+            return new ResponseEntity<>(Map.of("q", "Query must contain a letter or digit"), HttpStatus.BAD_REQUEST);
+        }
+        ItemSearchPage page = itemService.search(q, Math.max(0, offset), Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(TOTAL_COUNT_HEADER, String.valueOf(page.total()));
+        if (page.hasNext()) {
+            headers.add(NEXT_CURSOR_HEADER, String.valueOf(page.nextOffset()));
+        }
+        return new ResponseEntity<>(page.items(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Tail the item change feed: every create, update (status transitions included) and delete,
+     * in commit order, after the change with ID {@code since}.
+     *
+     * The ID of the last change returned is sent in {@code X-Next-Cursor}, to pass as {@code since}
+     * next time. With {@code wait} seconds and no newer changes, the request is held until a write
+     * commits or the wait is over, so consumers can long-poll instead of re-reading the item list.
+     *
+     * @param since ID of the last change already seen, 0 to read from the start
+     * @param limit maximum number of changes, clamped to 1..{@value #MAX_PAGE_SIZE}
+     * @param wait  seconds to wait for changes when there are none, clamped to 0..{@value #MAX_CHANGES_WAIT_SECONDS}
+     */
+    @GetMapping("/changes")
+    public CompletableFuture<ResponseEntity<List<ItemChange>>> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                                          @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                                          @RequestParam(defaultValue = "0") int wait) {
+        Duration waitFor = Duration.ofSeconds(Math.max(0, Math.min(wait, MAX_CHANGES_WAIT_SECONDS)));
+        return itemService.findChanges(since, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)), waitFor)
+                .thenApply(changes -> {
+                    long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getId();
+                    return ResponseEntity.ok()
+                            .header(NEXT_CURSOR_HEADER, String.valueOf(next))
+                            .body(changes);
+                });
+    }
+
+    /**
+     * Export every item as NDJSON (one JSON object per line), streamed straight from the database.
+     * The body is gzip-compressed when the client sends {@code Accept-Encoding: gzip}.
+     */
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportItems(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ObjectWriter itemWriter = objectMapper.writerFor(ItemView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+                itemService.exportAll(item -> {
+                    try {
+                        itemWriter.writeValue(generator, item);
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     /**
-     * Create a new item with validation.
+     * Create a new item with validation. Client-supplied IDs and versions are ignored.
      */
     @PostMapping
     public ResponseEntity<?> createItem(@Valid @RequestBody Item item, BindingResult result) {
@@ -51,24 +234,34 @@ public class ItemController {
             return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
         }
 
+        item.setId(null);
+        item.setVersion(null);
         return new ResponseEntity<>(itemService.save(item), HttpStatus.CREATED);
     }
 
     /**
      * Get an item by ID.
+     * The ETag is the item's version; a matching {@code If-None-Match} gets 304 Not Modified.
      */
     @GetMapping("/{id}")
     public ResponseEntity<Item> getItemById(@PathVariable Long id) {
         return itemService.findById(id)
-                .map(item -> new ResponseEntity<>(item, HttpStatus.OK))
+                .map(item -> {
+                    HttpHeaders headers = versionHeaders(item);
+                    headers.setCacheControl(CacheControl.noCache());
+                    return new ResponseEntity<>(item, headers, HttpStatus.OK);
+                })
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     /**
      * Update an existing item.
+     * With an {@code If-Match} header carrying the item's ETag, the update only succeeds if nobody
+     * changed the item since; otherwise the response is 412 Precondition Failed.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateItem(@PathVariable Long id, @Valid @RequestBody Item item, BindingResult result) {
+    public ResponseEntity<?> updateItem(@PathVariable Long id, @Valid @RequestBody Item item, BindingResult result,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         if (result.hasErrors()) {
             List<String> errors = result.getFieldErrors().stream()
                     .map(err -> err.getField() + ": " + err.getDefaultMessage())
@@ -76,10 +269,9 @@ public class ItemController {
             return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
         }
 
-        Optional<Item> existing = itemService.findById(id);
-        if (existing.isPresent()) {
-            item.setId(id);
-            return new ResponseEntity<>(itemService.save(item), HttpStatus.OK);
+        Optional<Item> updated = itemService.update(id, item, parseVersionETag(ifMatch));
+        if (updated.isPresent()) {
+            return new ResponseEntity<>(updated.get(), versionHeaders(updated.get()), HttpStatus.OK);
         } else {
             return new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND);
         }
@@ -90,27 +282,383 @@ public class ItemController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteItem(@PathVariable Long id) {
-        if (itemService.findById(id).isPresent()) {
-
-            itemService.deleteById(id);
+        if (itemService.delete(id)) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
 
+    /**
+     * Create many items at once from a JSON array.
+     * Returns 201 if every element was created, otherwise 207 with per-element results.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchItemResult>> createItems(@RequestBody List<Item> items) {
+        BatchWriter writer = new BatchWriter(false, itemService::createAll);
+        items.forEach(writer::add);
+        return batchResponse(writer.finish(), HttpStatus.CREATED);
+    }
+
+    /**
+     * Create many items from an NDJSON stream, persisting while the body is still being read.
+     */
+    @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BatchItemResult>> createItemsNdjson(InputStream body) throws IOException {
+        return batchResponse(readNdjson(body, new BatchWriter(false, itemService::createAll)), HttpStatus.CREATED);
+    }
+
+    /**
+     * Update many items at once from a JSON array; every element must carry its ID.
+     * Returns 200 if every element was updated, otherwise 207 with per-element results.
+     */
+    @PutMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchItemResult>> updateItems(@RequestBody List<Item> items) {
+        BatchWriter writer = new BatchWriter(true, itemService::updateAll);
+        items.forEach(writer::add);
+        return batchResponse(writer.finish(), HttpStatus.OK);
+    }
+
+    /**
+     * Update many items from an NDJSON stream; every line must carry the item ID.
+     */
+    @PutMapping(value = "/batch", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BatchItemResult>> updateItemsNdjson(InputStream body) throws IOException {
+        return batchResponse(readNdjson(body, new BatchWriter(true, itemService::updateAll)), HttpStatus.OK);
+    }
+
+    /**
+     * Delete many items by ID.
+     * Returns 200 if every item was deleted, otherwise 207 with per-element results.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> deleteItems(@RequestBody List<Long> ids) {
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        List<Long> validIds = new ArrayList<>(ids.size());
+        List<Integer> validIndices = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results.add(BatchItemResult.failure(i, null, HttpStatus.BAD_REQUEST, Map.of("id", "Item id is required")));
+            } else {
+                validIds.add(ids.get(i));
+                validIndices.add(i);
+            }
+        }
+        itemService.deleteAll(validIds)
+                .forEach(result -> results.add(result.withIndex(validIndices.get(result.index()))));
+        results.sort(Comparator.comparingInt(BatchItemResult::index));
+        return batchResponse(results, HttpStatus.OK);
+    }
+
+    /**
+     * Feeds every line of an NDJSON body to the writer; malformed lines are rejected individually.
+     */
+    private List<BatchItemResult> readNdjson(InputStream body, BatchWriter writer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                writer.add(objectMapper.readValue(line, Item.class));
+            } catch (JsonProcessingException ex) {
+                writer.reject(Map.of("error", "Malformed JSON: " + ex.getOriginalMessage()));
+            }
+        }
+        return writer.finish();
+    }
+
+    /**
+     * ETag header derived from the item's version, when the version is known.
+     */
+    private static HttpHeaders versionHeaders(Item item) {
+        HttpHeaders headers = new HttpHeaders();
+        if (item.getVersion() != null) {
+            headers.setETag("\"" + item.getVersion() + "\"");
+        }
+        return headers;
+    }
+
+    /**
+     * ETag of a page of items, digested from the IDs and versions on it and whether another page
+     * follows. Every write bumps the version of the items it touches, so the tag changes whenever
+     * the page content would.
+     *
+     * Tomcat does not compress a response with a strong ETag, since the gzipped bytes are a different
+     * representation; for clients accepting gzip the tag is sent as weak instead. If-None-Match
+     * compares weakly, so either form of the tag revalidates the page.
+     */
+    private static String pageETag(CursorPage<ItemView> page, boolean weak) {
+        ByteBuffer state = ByteBuffer.allocate(page.items().size() * 2 * Long.BYTES + 1);
+        for (ItemView item : page.items()) {
+            state.putLong(item.id()).putLong(item.version() == null ? -1 : item.version());
+        }
+        state.put((byte) (page.hasNext() ? 1 : 0));
+        String tag = "\"" + DigestUtils.md5DigestAsHex(state.array()) + "\"";
+        return weak ? "W/" + tag : tag;
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip. An explicit {@code gzip} entry wins over {@code *},
+     * and either is refused by {@code q=0}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    accepted = isPositiveQuality(param.substring(2).trim());
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static boolean isPositiveQuality(String q) {
+        try {
+            return Double.parseDouble(q) > 0;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Extracts the expected version from an If-Match header; null means "any version".
+     * A value that is not one of our ETags can never match, so it maps to an impossible version.
+     */
+    private static Long parseVersionETag(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+
+    private ResponseEntity<List<BatchItemResult>> batchResponse(List<BatchItemResult> results, HttpStatus allSucceeded) {
+        boolean anyFailed = results.stream().anyMatch(BatchItemResult::isFailure);
+        return new ResponseEntity<>(results, anyFailed ? HttpStatus.MULTI_STATUS : allSucceeded);
+    }
+
+    /**
+     * Validates batch elements one by one and hands the valid ones to the service in windows of
+     * items.processing.chunk-size, so a streamed body is persisted while it is still being read.
+     * Results are reported against the element's position in the request.
+     */
+    private final class BatchWriter {
+        private final boolean requireId;
+        private final Function<List<Item>, List<BatchItemResult>> write;
+        private final List<BatchItemResult> results = new ArrayList<>();
+        private final List<Item> window = new ArrayList<>();
+        private final List<Integer> windowIndices = new ArrayList<>();
+        private int nextIndex;
+
+        BatchWriter(boolean requireId, Function<List<Item>, List<BatchItemResult>> write) {
+            this.requireId = requireId;
+            this.write = write;
+        }
+
+        void add(Item item) {
+            int index = nextIndex++;
+            Map<String, String> errors = validate(item);
+            if (!errors.isEmpty()) {
+                results.add(BatchItemResult.failure(index, item == null ? null : item.getId(), HttpStatus.BAD_REQUEST, errors));
+                return;
+            }
+            window.add(item);
+            windowIndices.add(index);
+            if (window.size() >= Math.max(1, processingProperties.getChunkSize())) {
+                flush();
+            }
+        }
+
+        void reject(Map<String, String> errors) {
+            results.add(BatchItemResult.failure(nextIndex++, null, HttpStatus.BAD_REQUEST, errors));
+        }
+
+        List<BatchItemResult> finish() {
+            flush();
+            results.sort(Comparator.comparingInt(BatchItemResult::index));
+            return results;
+        }
+
+        private void flush() {
+            if (window.isEmpty()) {
+                return;
+            }
+            write.apply(window).forEach(result -> results.add(result.withIndex(windowIndices.get(result.index()))));
+            window.clear();
+            windowIndices.clear();
+        }
+
+        private Map<String, String> validate(Item item) {
+            Map<String, String> errors = new HashMap<>();
+            if (item == null) {
+                errors.put("error", "Item is required");
+                return errors;
+            }
+            validator.validate(item).forEach(violation ->
+                    errors.put(violation.getPropertyPath().toString(), violation.getMessage())
+            );
+            if (requireId && item.getId() == null) {
+                errors.put("id", "Item id is required");
+            }
+            return errors;
+        }
+    }
+
 //    @GetMapping("/process")
 //    public ResponseEntity<List<Item>> processItems() {
 //        return new ResponseEntity<>(itemService.processItemsAsync(), HttpStatus.OK);
 //    }
 
     /**
-     * Asynchronously process all items and return the processed list.
+     * Asynchronously process all items and return the processed list, at most
+     * {@value ItemService#MAX_PROCESS_RESULTS} of them.
+     *
+     * @deprecated holds the request open for the whole run; use {@code POST /api/items/process}
      */
+    @Deprecated
     @GetMapping("/process")
     public CompletableFuture<ResponseEntity<List<Item>>> processItems() {
         return itemService.processItemsAsync()
                 .thenApply(items -> ResponseEntity.ok(items));
     }
 
+    /**
+     * Start processing all items in the background.
+     * Returns 202 with the job status and its URL in {@code Location}; 503 if too many jobs are running.
+     */
+    @PostMapping("/process")
+    public ResponseEntity<ProcessingJob.Status> startProcessing() {
+        ProcessingJob job = processingJobService.start();
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/items/jobs/{id}").buildAndExpand(job.getId()).toUri())
+                .body(job.status());
+    }
+
+    /**
+     * Progress of a processing job: counts, throughput and failures.
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ProcessingJob.Status> getJob(@PathVariable String jobId) {
+        return processingJobService.find(jobId)
+                .map(job -> ResponseEntity.ok(job.status()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Items processed by a job so far, one page at a time in processing order; only the first
+     * {@value ProcessingJob#MAX_REPORTED_RESULTS} are listed, the job status has the full count.
+     * When more results are available the next offset is sent in {@code X-Next-Cursor}.
+     */
+    @GetMapping("/jobs/{jobId}/items")
+    public ResponseEntity<List<ItemView>> getJobItems(@PathVariable String jobId,
+                                                  @RequestParam(defaultValue = "0") int offset,
+                                                  @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        Optional<ProcessingJob> job = processingJobService.find(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        CursorPage<ItemView> page = processingJobService.results(job.get(), Math.max(0, offset),
+                Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext()) {
+            headers.add(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return new ResponseEntity<>(page.items(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Items a job failed to process, with the reason and whether they were dead-lettered,
+     * one page at a time. When more failures are reported the next offset is sent in {@code X-Next-Cursor}.
+     */
+    @GetMapping("/jobs/{jobId}/failures")
+    public ResponseEntity<List<ProcessingJob.Failure>> getJobFailures(@PathVariable String jobId,
+                                                                      @RequestParam(defaultValue = "0") int offset,
+                                                                      @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        Optional<ProcessingJob> job = processingJobService.find(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        CursorPage<ProcessingJob.Failure> page = processingJobService.failures(job.get(), Math.max(0, offset),
+                Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext()) {
+            headers.add(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return new ResponseEntity<>(page.items(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Requeue every item a job dead-lettered (as listed by {@code /jobs/{jobId}/failures}), so the
+     * next processing run picks them up again. Returns how many were requeued.
+     */
+    @PostMapping("/jobs/{jobId}/failures/requeue")
+    public ResponseEntity<Map<String, Integer>> requeueJobFailures(@PathVariable String jobId) {
+        return processingJobService.find(jobId)
+                .map(job -> ResponseEntity.ok(Map.of("requeued", processingJobService.requeueFailures(job))))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Items whose processing failed on their own, keyset-paged by item ID.
+     * When more entries follow, the cursor is sent in {@code X-Next-Cursor}.
+     */
+    @GetMapping("/dead-letters")
+    public ResponseEntity<List<DeadLetterItem>> getDeadLetters(@RequestParam(required = false) Long after,
+                                                               @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        CursorPage<DeadLetterItem> page = itemService.findDeadLetters(after, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext()) {
+            headers.add(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return new ResponseEntity<>(page.items(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Take an item out of the dead-letter table so the next processing run picks it up again.
+     */
+    @PostMapping("/dead-letters/{itemId}/requeue")
+    public ResponseEntity<Void> requeueDeadLetter(@PathVariable Long itemId) {
+        return itemService.requeueDeadLetter(itemId)
+                ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Cancel a processing job. Chunks already committed stay processed.
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<ProcessingJob.Status> cancelJob(@PathVariable String jobId) {
+        return processingJobService.cancel(jobId)
+                .map(job -> ResponseEntity.accepted().body(job.status()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
 }
@@ -0,0 +1,152 @@
+package com.siemens.internship;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Creates the executor used for item processing according to
+ * {@code items.processing.execution-mode}, and switches Tomcat to virtual threads
+ * when one of the virtual modes is selected.
+ *
+ * The executor is Spring-managed: queued and running tasks are drained for up to
+ * {@code items.processing.shutdown-timeout} when the context closes, and it is instrumented
+ * through {@link ItemExecutorMetrics}.
+ *
+ * Every processing task holds a JDBC connection while it runs, so in the bounded modes the
+ * executor never runs more tasks than the connection pool can serve next to request handling
+ * ({@code items.processing.reserved-connections}).
+ */
+@Configuration
+public class ItemExecutorConfiguration {
+
+    public static final String ITEM_EXECUTOR = "itemProcessingExecutor";
+
+    private static final String THREAD_NAME_PREFIX = "item-processing-";
+
+    private static final Logger log = LoggerFactory.getLogger(ItemExecutorConfiguration.class);
+
+    @Bean(name = ITEM_EXECUTOR)
+    public AsyncTaskExecutor itemProcessingExecutor(ItemProcessingProperties properties,
+                                                    @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                                                    MeterRegistry meterRegistry) {
+        ItemExecutorMetrics metrics = new ItemExecutorMetrics(meterRegistry, ITEM_EXECUTOR);
+        long shutdownTimeoutMillis = properties.getShutdownTimeout().toMillis();
+        int processingConnections = processingConnections(properties, connectionPoolSize);
+
+        if (properties.getExecutionMode() == ItemProcessingProperties.ExecutionMode.FIXED) {
+            int threads = properties.getThreads() > 0
+                    ? properties.getThreads()
+                    : Math.min(Runtime.getRuntime().availableProcessors(), processingConnections);
+            if (threads > processingConnections) {
+                log.warn("items.processing.threads={} exceeds the {} connections available to processing; using {} threads",
+                        threads, processingConnections, processingConnections);
+                threads = processingConnections;
+            }
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setThreadNamePrefix(THREAD_NAME_PREFIX);
+            pool.setCorePoolSize(threads);
+            pool.setMaxPoolSize(threads);
+            pool.setQueueCapacity(properties.getQueueCapacity());
+            pool.setRejectedExecutionHandler(rejectionHandler(properties.getRejectionPolicy(), metrics));
+            pool.setTaskDecorator(metrics);
+            pool.setWaitForTasksToCompleteOnShutdown(true);
+            pool.setAwaitTerminationMillis(shutdownTimeoutMillis);
+            return pool;
+        }
+
+        SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+        virtual.setVirtualThreads(true);
+        virtual.setTaskTerminationTimeout(shutdownTimeoutMillis);
+        if (properties.getExecutionMode() == ItemProcessingProperties.ExecutionMode.BOUNDED_VIRTUAL) {
+            int maxConcurrency = properties.getMaxConcurrency() > 0 ? properties.getMaxConcurrency() : processingConnections;
+            if (maxConcurrency > processingConnections) {
+                log.warn("items.processing.max-concurrency={} exceeds the {} connections available to processing; "
+                        + "tasks will wait for connections", maxConcurrency, processingConnections);
+            }
+            TaskDecorator limit = limitConcurrency(maxConcurrency);
+            virtual.setTaskDecorator(task -> limit.decorate(metrics.decorate(task)));
+        } else {
+            log.info("Unbounded VIRTUAL execution mode: processing tasks beyond {} wait for a JDBC connection "
+                    + "(up to spring.datasource.hikari.connection-timeout)", processingConnections);
+            virtual.setTaskDecorator(metrics);
+        }
+        return virtual;
+    }
+
+    /**
+     * Runs asynchronous MVC requests (the streaming export) on a pool bounded by spring.task.execution.*.
+     * Boot only creates this executor when there is no other one, so without it MVC would fall back to
+     * a new thread per request.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Connections of a pool of {@code connectionPoolSize} that processing may use at once; at least one.
+     */
+    static int processingConnections(ItemProcessingProperties properties, int connectionPoolSize) {
+        return Math.max(1, connectionPoolSize - Math.max(0, properties.getReservedConnections()));
+    }
+
+    /**
+     * Runs Tomcat request handling on virtual threads as well when a virtual mode is selected.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequestHandling(ItemProcessingProperties properties) {
+        return handler -> {
+            if (properties.getExecutionMode() != ItemProcessingProperties.ExecutionMode.FIXED) {
+                handler.setExecutor(new VirtualThreadTaskExecutor("http-"));
+            }
+        };
+    }
+
+    /**
+     * Counts every rejection, then either runs the task on the submitting thread (back-pressure)
+     * or fails the submission.
+     */
+    static RejectedExecutionHandler rejectionHandler(ItemProcessingProperties.RejectionPolicy policy,
+                                                     ItemExecutorMetrics metrics) {
+        return (task, pool) -> {
+            boolean callerRuns = policy == ItemProcessingProperties.RejectionPolicy.CALLER_RUNS && !pool.isShutdown();
+            metrics.rejected(!callerRuns);
+            if (!callerRuns) {
+                throw new RejectedExecutionException("Item processing executor is saturated");
+            }
+            task.run();
+        };
+    }
+
+    /**
+     * Lets at most {@code maxConcurrency} decorated tasks run at once. Waiting happens inside the
+     * task's own (virtual) thread, so submitters never block.
+     */
+    static TaskDecorator limitConcurrency(int maxConcurrency) {
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+        return task -> () -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.siemens.internship;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer instrumentation for an item executor, independent of the execution mode:
+ * time spent waiting and running per task, active and queued task gauges, and rejected tasks.
+ */
+class ItemExecutorMetrics implements TaskDecorator {
+
+    private final Timer waitTimer;
+    private final Timer runTimer;
+    private final Counter rejections;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    ItemExecutorMetrics(MeterRegistry registry, String name) {
+        Tags tags = Tags.of("name", name);
+        waitTimer = Timer.builder("items.executor.wait")
+                .description("Time between submitting a task and the task starting")
+                .tags(tags)
+                .register(registry);
+        runTimer = Timer.builder("items.executor.run")
+                .description("Time a task spends running")
+                .tags(tags)
+                .register(registry);
+        rejections = Counter.builder("items.executor.rejected")
+                .description("Tasks rejected because the executor was saturated")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("items.executor.active", active, AtomicInteger::get)
+                .description("Tasks currently running")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("items.executor.queued", queued, AtomicInteger::get)
+                .description("Tasks submitted but not yet started")
+                .tags(tags)
+                .register(registry);
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        long submitted = System.nanoTime();
+        queued.incrementAndGet();
+        return () -> {
+            long started = System.nanoTime();
+            queued.decrementAndGet();
+            active.incrementAndGet();
+            waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+                runTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    /**
+     * Records a rejected task; {@code dropped} means it will never run, so it leaves the queue count.
+     */
+    void rejected(boolean dropped) {
+        rejections.increment();
+        if (dropped) {
+            queued.decrementAndGet();
+        }
+    }
+}
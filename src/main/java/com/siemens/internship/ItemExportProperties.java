@@ -0,0 +1,20 @@
+package com.siemens.internship;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning knobs for the streaming item export.
+ * Bound from the "items.export" prefix in application.properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "items.export")
+public class ItemExportProperties {
+
+    /**
+     * JDBC fetch size used while scrolling over the items table.
+     */
+    private int fetchSize = 1000;
+}
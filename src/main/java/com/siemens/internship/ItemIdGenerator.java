@@ -0,0 +1,39 @@
+package com.siemens.internship;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence-based ID generator for Items that hands out IDs from memory.
+ *
+ * Each call to the database sequence reserves a whole block of IDs (the allocation size), and
+ * the pooled-lo optimizer assigns them locally until the block is used up. That removes the
+ * per-insert sequence round trip and lets Hibernate batch inserts.
+ *
+ * The block size is read from the Hibernate setting {@value #ALLOCATION_SIZE_SETTING},
+ * e.g. {@code spring.jpa.properties.items.id.allocation_size=100}.
+ */
+public class ItemIdGenerator extends SequenceStyleGenerator {
+
+    public static final String SEQUENCE_NAME = "item_seq";
+    public static final String ALLOCATION_SIZE_SETTING = "items.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        int allocationSize = ConfigurationHelper.getInt(ALLOCATION_SIZE_SETTING,
+                serviceRegistry.requireService(ConfigurationService.class).getSettings(),
+                DEFAULT_ALLOCATION_SIZE);
+
+        parameters.put(SEQUENCE_PARAM, SEQUENCE_NAME);
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.put(OptimizableGenerator.OPT_PARAM, "pooled-lo");
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,125 @@
+package com.siemens.internship;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The {@link ItemProcessor} stages every chunk goes through before it is marked PROCESSED.
+ *
+ * A chunk is split into partitions by items.processing.partition-key. Each partition is one task on
+ * a work-stealing pool that passes its items through all stages one at a time, in ID order, while
+ * the partitions run in parallel. Chunks are processed concurrently as well, so the order within a
+ * partition holds across a whole run only with items.processing.max-in-flight-chunks=1.
+ */
+@Component
+class ItemPipeline implements DisposableBean {
+
+    private final List<Stage> stages;
+    private final Function<Item, Object> partitionKey;
+    private final ForkJoinPool pool;
+    private final Executor callerRunsOnShutdown;
+
+    private record Stage(ItemProcessor processor, Timer timer) {
+    }
+
+    ItemPipeline(ObjectProvider<ItemProcessor> processors, ItemProcessingProperties properties,
+                 ItemProcessingMetrics metrics) {
+        this.stages = processors.orderedStream()
+                .map(processor -> new Stage(processor, metrics.stageTimer(processor.name())))
+                .toList();
+        this.partitionKey = switch (properties.getPartitionKey()) {
+            case EMAIL_DOMAIN -> ItemPipeline::emailDomain;
+            case ITEM -> Item::getId;
+        };
+        this.pool = stages.isEmpty() ? null : new ForkJoinPool(Math.max(1, properties.getPipelineParallelism()));
+        this.callerRunsOnShutdown = task -> {
+            try {
+                pool.execute(task);
+            } catch (RejectedExecutionException ex) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * True if there are no stages, so items only need their status set.
+     */
+    boolean isEmpty() {
+        return stages.isEmpty();
+    }
+
+    /**
+     * Runs every stage over {@code items} and waits for all partitions to finish.
+     *
+     * @throws RuntimeException the failure of a stage; failures of other partitions are added as suppressed
+     */
+    void process(List<Item> items) {
+        Map<Object, List<Item>> partitions = new LinkedHashMap<>();
+        items.stream()
+                .sorted(Comparator.comparing(Item::getId))
+                .forEach(item -> partitions.computeIfAbsent(partitionKey.apply(item), key -> new ArrayList<>()).add(item));
+        if (partitions.size() == 1) {
+            partitions.values().forEach(this::run);
+            return;
+        }
+
+        List<CompletableFuture<Void>> tasks = partitions.values().stream()
+                .map(partition -> CompletableFuture.runAsync(() -> run(partition), callerRunsOnShutdown))
+                .toList();
+        RuntimeException failure = null;
+        for (CompletableFuture<Void> task : tasks) {
+            try {
+                task.join();
+            } catch (CompletionException ex) {
+                RuntimeException cause = ex.getCause() instanceof RuntimeException runtime ? runtime : ex;
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void run(List<Item> partition) {
+        for (Item item : partition) {
+            for (Stage stage : stages) {
+                long start = System.nanoTime();
+                stage.processor().process(item);
+                stage.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static Object emailDomain(Item item) {
+        String email = item.getEmail();
+        int at = email == null ? -1 : email.lastIndexOf('@');
+        return at < 0 ? "" : email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
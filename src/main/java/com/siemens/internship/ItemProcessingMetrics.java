@@ -0,0 +1,101 @@
+package com.siemens.internship;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of the chunked item processing in {@link ItemService}:
+ * <ul>
+ *   <li>{@code items.processing.chunk}: time to commit one chunk, retries included</li>
+ *   <li>{@code items.processing.chunk.items}: items per timed chunk; its total divided into the
+ *       chunk timer's total gives the mean time per item</li>
+ *   <li>{@code items.processing.items} (tag outcome=processed|failed|dead_lettered): items per
+ *       outcome; {@code rate()} over it gives items per second</li>
+ *   <li>{@code items.processing.stage} (tag stage): time one {@link ItemProcessor} stage spends on one item</li>
+ *   <li>{@code items.processing.retries}: chunk transactions retried after a transient error</li>
+ *   <li>{@code items.processing.throughput}: items per second of the last finished run</li>
+ * </ul>
+ */
+@Component
+class ItemProcessingMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer chunkTimer;
+    private final DistributionSummary chunkItems;
+    private final Counter processed;
+    private final Counter failed;
+    private final Counter deadLettered;
+    private final Counter retries;
+    private volatile double lastRunThroughput;
+
+    ItemProcessingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        chunkTimer = Timer.builder("items.processing.chunk")
+                .description("Time to process and commit one chunk of items")
+                .register(registry);
+        chunkItems = DistributionSummary.builder("items.processing.chunk.items")
+                .baseUnit("items")
+                .description("Items per chunk timed by items.processing.chunk")
+                .register(registry);
+        processed = Counter.builder("items.processing.items")
+                .tag("outcome", "processed")
+                .description("Items processed")
+                .register(registry);
+        failed = Counter.builder("items.processing.items")
+                .tag("outcome", "failed")
+                .description("Items whose chunk failed on a transient error after all retries")
+                .register(registry);
+        deadLettered = Counter.builder("items.processing.items")
+                .tag("outcome", "dead_lettered")
+                .description("Items that failed on their own and were moved to the dead-letter table")
+                .register(registry);
+        retries = Counter.builder("items.processing.retries")
+                .description("Chunk transactions retried after a transient error")
+                .register(registry);
+        Gauge.builder("items.processing.throughput", this, metrics -> metrics.lastRunThroughput)
+                .baseUnit("items.per.second")
+                .description("Items processed per second by the last finished run")
+                .register(registry);
+    }
+
+    Timer stageTimer(String stage) {
+        return Timer.builder("items.processing.stage")
+                .tag("stage", stage)
+                .description("Time an item processing stage spends on one item")
+                .register(registry);
+    }
+
+    void chunkProcessed(int items, long nanos) {
+        record(items, nanos);
+        processed.increment(items);
+    }
+
+    void chunkFailed(int items, long nanos) {
+        record(items, nanos);
+        failed.increment(items);
+    }
+
+    void itemDeadLettered(long nanos) {
+        record(1, nanos);
+        deadLettered.increment();
+    }
+
+    void retried() {
+        retries.increment();
+    }
+
+    void runFinished(long items, long nanos) {
+        lastRunThroughput = nanos > 0 ? items * 1e9 / nanos : 0;
+    }
+
+    private void record(int items, long nanos) {
+        chunkTimer.record(nanos, TimeUnit.NANOSECONDS);
+        chunkItems.record(items);
+    }
+}
@@ -0,0 +1,161 @@
+package com.siemens.internship;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs for the chunked item processing engine.
+ * Bound from the "items.processing" prefix in application.properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "items.processing")
+public class ItemProcessingProperties {
+
+    /**
+     * Number of items loaded, updated and committed together in one transaction.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Maximum number of chunks being processed at the same time.
+     * Peak memory is roughly chunkSize * maxInFlightChunks items.
+     */
+    private int maxInFlightChunks = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * How processing tasks (and, for the virtual modes, Tomcat requests) are run.
+     */
+    private ExecutionMode executionMode = ExecutionMode.FIXED;
+
+    /**
+     * Worker threads in {@link ExecutionMode#FIXED} mode, capped at the JDBC connections not
+     * reserved for requests (see {@link #reservedConnections}).
+     * 0 means "the number of available processors", capped the same way without a warning.
+     */
+    private int threads = 0;
+
+    /**
+     * Tasks allowed to run at once in {@link ExecutionMode#BOUNDED_VIRTUAL} mode.
+     * 0 means "the JDBC connections not reserved for requests" (see {@link #reservedConnections}).
+     */
+    private int maxConcurrency = 0;
+
+    /**
+     * JDBC connections kept free for request handling. Processing runs at most
+     * {@code spring.datasource.hikari.maximum-pool-size - reservedConnections} tasks at once,
+     * so its threads never queue on the pool behind each other or starve requests.
+     */
+    private int reservedConnections = 2;
+
+    /**
+     * Tasks that may wait for a thread in {@link ExecutionMode#FIXED} mode before new ones are rejected.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * What happens to a task submitted while the queue is full.
+     */
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+
+    /**
+     * How long shutdown waits for queued and running tasks to finish.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Only process items whose status is not PROCESSED yet. When false every run re-processes every item.
+     */
+    private boolean incremental = true;
+
+    /**
+     * Persist a checkpoint after every committed chunk of a processing job, and on startup resume
+     * jobs that were interrupted (crash, kill) from their last checkpoint.
+     */
+    private boolean resumeInterruptedJobs = false;
+
+    /**
+     * Processing jobs (POST /api/items/process) allowed to run at the same time.
+     */
+    private int maxConcurrentJobs = 2;
+
+    /**
+     * Finished processing jobs kept for status and result queries.
+     */
+    private int maxRetainedJobs = 100;
+
+    /**
+     * Attempts for a chunk transaction that fails with a transient database error: optimistic or
+     * pessimistic locking conflict, query timeout, no connection available.
+     */
+    private int retryAttempts = 3;
+
+    /**
+     * Delay before the first retry of a failed chunk; doubled on every further attempt, with
+     * random jitter of up to half the delay so conflicting workers do not retry in lockstep.
+     */
+    private Duration retryBackoff = Duration.ofMillis(20);
+
+    /**
+     * Upper bound of the delay between two retries.
+     */
+    private Duration retryMaxBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Largest share of a chunk that may be moved to the dead-letter table (at least one item).
+     * More items of a chunk failing on their own point to a systematic error, which fails the run.
+     */
+    private double maxDeadLetterRatio = 0.1;
+
+    /**
+     * How the {@link ItemProcessor} pipeline splits a chunk into partitions that run in parallel.
+     * Items of one partition go through the stages one at a time, in ID order.
+     */
+    private PartitionKey partitionKey = PartitionKey.EMAIL_DOMAIN;
+
+    /**
+     * Threads of the work-stealing pool running {@link ItemProcessor} stages.
+     */
+    private int pipelineParallelism = Runtime.getRuntime().availableProcessors();
+
+    public enum ExecutionMode {
+        /**
+         * Fixed pool of platform threads.
+         */
+        FIXED,
+        /**
+         * One virtual thread per task (Java 21+). Also used for Tomcat request handling.
+         */
+        VIRTUAL,
+        /**
+         * One virtual thread per task, with at most {@code maxConcurrency} running at once so the
+         * connection pool is never oversubscribed (Java 21+). Also used for Tomcat request handling.
+         */
+        BOUNDED_VIRTUAL
+    }
+
+    public enum RejectionPolicy {
+        /**
+         * Fail the submission; surfaced to HTTP clients as 503 Service Unavailable.
+         */
+        ABORT,
+        /**
+         * Run the task on the submitting thread, slowing the producer down.
+         */
+        CALLER_RUNS
+    }
+
+    public enum PartitionKey {
+        /**
+         * The domain of the item's email, case-insensitive; items without one share a partition.
+         */
+        EMAIL_DOMAIN,
+        /**
+         * Every item on its own: no order between items.
+         */
+        ITEM
+    }
+}
@@ -0,0 +1,28 @@
+package com.siemens.internship;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * One stage of the processing pipeline ({@link ItemPipeline}), e.g. enrichment or validation.
+ * Every bean implementing it becomes a stage, run in {@link org.springframework.core.annotation.Order} order.
+ *
+ * Stages are called concurrently for items of different partitions, with no transaction open and
+ * no connection held: they change the (detached) item in place, and their changes are written back
+ * in a short transaction afterwards. They should not touch the database themselves.
+ */
+@FunctionalInterface
+public interface ItemProcessor {
+
+    /**
+     * Processes one item. Throwing fails the item: it is retried on a transient database error,
+     * otherwise moved to the dead-letter table.
+     */
+    void process(Item item);
+
+    /**
+     * Name the stage is timed under ({@code items.processing.stage}, tag stage).
+     */
+    default String name() {
+        return ClassUtils.getUserClass(this).getSimpleName();
+    }
+}
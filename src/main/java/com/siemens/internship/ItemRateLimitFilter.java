@@ -0,0 +1,149 @@
+package com.siemens.internship;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for /api/items: a token bucket per client, a global token bucket and an
+ * adaptive concurrency limit, checked in that order before the request reaches the controller.
+ *
+ * Requests over a rate limit get 429 and requests over the concurrency limit get 503, both with a
+ * Retry-After header and without touching the database or the executors. A request that continues
+ * asynchronously (processing, long-polled changes) gives its concurrency permit back when the
+ * servlet thread is released; the work behind it is bounded by the processing executor.
+ *
+ * Batch requests (/api/items/batch) are slow by the size of their body, not because the service is
+ * overloaded, so their latency does not move the concurrency limit; only a 503 from them does.
+ */
+@Component
+class ItemRateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    static final String PATH_PREFIX = "/api/items";
+    static final String BATCH_PATH = PATH_PREFIX + "/batch";
+
+    private final ItemRateLimitProperties properties;
+    private final TokenBucket globalBucket;
+    private final Cache<String, TokenBucket> clientBuckets;
+    private final AimdConcurrencyLimit concurrencyLimit;
+    private final AtomicLong rejectedByClient = new AtomicLong();
+    private final AtomicLong rejectedGlobally = new AtomicLong();
+    private final AtomicLong rejectedByConcurrency = new AtomicLong();
+
+    ItemRateLimitFilter(ItemRateLimitProperties properties) {
+        this.properties = properties;
+        this.globalBucket = properties.getGlobalRate() > 0
+                ? new TokenBucket(properties.getGlobalRate(), properties.getGlobalBurst(), System::nanoTime)
+                : null;
+        this.clientBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.concurrencyLimit = new AimdConcurrencyLimit(properties.getInitialConcurrency(),
+                properties.getMinConcurrency(), properties.getMaxConcurrency(), properties.getBackoffRatio(),
+                properties.getLatencyThreshold().toNanos());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        rejectedCounter(registry, "client", rejectedByClient);
+        rejectedCounter(registry, "global", rejectedGlobally);
+        rejectedCounter(registry, "concurrency", rejectedByConcurrency);
+        Gauge.builder("items.requests.concurrency.limit", concurrencyLimit, AimdConcurrencyLimit::limit)
+                .description("Current adaptive limit on /api/items requests handled at once")
+                .register(registry);
+        Gauge.builder("items.requests.in.flight", concurrencyLimit, AimdConcurrencyLimit::inFlight)
+                .description("/api/items requests currently holding a concurrency permit")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith(PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (properties.getClientRate() > 0) {
+            long wait = clientBuckets.get(clientKey(request),
+                    key -> new TokenBucket(properties.getClientRate(), properties.getClientBurst(), System::nanoTime))
+                    .tryAcquire();
+            if (wait > 0) {
+                rejectedByClient.incrementAndGet();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, "Too many requests, try again later");
+                return;
+            }
+        }
+        if (globalBucket != null) {
+            long wait = globalBucket.tryAcquire();
+            if (wait > 0) {
+                rejectedGlobally.incrementAndGet();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, "Too many requests, try again later");
+                return;
+            }
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            rejectedByConcurrency.incrementAndGet();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1), "Server busy, try again later");
+            return;
+        }
+
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+        } finally {
+            if (request.isAsyncStarted() || !failed && request.getRequestURI().startsWith(BATCH_PATH)) {
+                concurrencyLimit.releaseUnsampled();
+            } else {
+                concurrencyLimit.release(System.nanoTime() - started, failed);
+            }
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String header = properties.getClientHeader();
+        if (!header.isEmpty()) {
+            String client = request.getHeader(header);
+            if (client != null && !client.isEmpty()) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long waitNanos, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    private static void rejectedCounter(MeterRegistry registry, String reason, AtomicLong count) {
+        FunctionCounter.builder("items.requests.rejected", count, AtomicLong::get)
+                .description("/api/items requests turned away by admission control")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,78 @@
+package com.siemens.internship;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Admission control in front of the /api/items endpoints, applied by {@link ItemRateLimitFilter}.
+ * Bound from the "items.rate-limit" prefix in application.properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "items.rate-limit")
+public class ItemRateLimitProperties {
+
+    /**
+     * Whether requests are limited at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Requests per second admitted across all clients; 0 disables the global limit.
+     */
+    private double globalRate = 1000;
+
+    /**
+     * Requests the global limit lets through in one burst on top of the steady rate.
+     */
+    private int globalBurst = 1000;
+
+    /**
+     * Requests per second admitted per client; 0 disables the per-client limit.
+     */
+    private double clientRate = 200;
+
+    /**
+     * Requests one client may send in one burst.
+     */
+    private int clientBurst = 400;
+
+    /**
+     * Request header identifying the client, e.g. an API key set by a gateway. When empty or
+     * missing from a request, the client is identified by its remote address.
+     */
+    private String clientHeader = "";
+
+    /**
+     * Most clients whose buckets are kept; the least recently seen are forgotten beyond that.
+     */
+    private int maxClients = 10_000;
+
+    /**
+     * Requests handled at once before the adaptive limit has learned anything.
+     */
+    private int initialConcurrency = 20;
+
+    /**
+     * Floor of the adaptive concurrency limit.
+     */
+    private int minConcurrency = 4;
+
+    /**
+     * Ceiling of the adaptive concurrency limit; keep it below the Tomcat thread count.
+     */
+    private int maxConcurrency = 150;
+
+    /**
+     * Requests slower than this, or answered with 503, shrink the concurrency limit.
+     */
+    private Duration latencyThreshold = Duration.ofMillis(500);
+
+    /**
+     * Factor the concurrency limit is multiplied by on a slow or failed request.
+     */
+    private double backoffRatio = 0.9;
+}
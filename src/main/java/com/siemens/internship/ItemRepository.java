@@ -1,19 +1,149 @@
 package com.siemens.internship;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Spring Data JPA repository for Item entities.
  * Provides built-in CRUD operations.
+ *
+ * Query methods run in read-only transactions (no flush, no dirty-checking snapshots) unless
+ * the caller already has one; modifying queries are marked read-write explicitly.
  */
-public interface ItemRepository extends JpaRepository<Item, Long> {
+@Transactional(readOnly = true)
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
     /**
      * Custom query to fetch all item IDs.
-     * Used in asynchronous processing.
      */
     @Query("SELECT id FROM Item")
     List<Long> findAllIds();
+
+    /**
+     * Keyset page of item IDs strictly greater than {@code afterId}, in ascending order.
+     * Walks the primary key index, so every page costs the same regardless of depth.
+     * Used by the chunked processing when items.processing.incremental is off.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.id > :afterId ORDER BY i.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable page);
+
+    /**
+     * Distinct statuses other than {@code status}, including null when some items have no status.
+     * Answered from idx_item_status_id.
+     */
+    @Query("SELECT DISTINCT i.status FROM Item i WHERE i.status IS NULL OR i.status <> :status")
+    List<ItemStatus> findStatusesOtherThan(@Param("status") ItemStatus status);
+
+    /**
+     * Keyset page of IDs of items with the given status, in ascending order. A range scan on
+     * idx_item_status_id, so only items with that status are read.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.status = :status AND i.id > :afterId ORDER BY i.id")
+    List<Long> findIdsByStatusAfter(@Param("status") ItemStatus status, @Param("afterId") long afterId, Pageable page);
+
+    /**
+     * Keyset page of IDs of items without a status, in ascending order.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.status IS NULL AND i.id > :afterId ORDER BY i.id")
+    List<Long> findIdsWithoutStatusAfter(@Param("afterId") long afterId, Pageable page);
+
+    /*
+     * Keyset pages for the item listing. The ascending variants return items with an ID above the
+     * cursor, the descending ones items below it; the status variants run on idx_item_status_id.
+     * Rows are selected straight into ItemView, without creating entities.
+     */
+
+    List<ItemView> findByIdGreaterThanOrderByIdAsc(long afterId, Limit limit);
+
+    List<ItemView> findByIdLessThanOrderByIdDesc(long beforeId, Limit limit);
+
+    List<ItemView> findByStatusAndIdGreaterThanOrderByIdAsc(ItemStatus status, long afterId, Limit limit);
+
+    List<ItemView> findByStatusAndIdLessThanOrderByIdDesc(ItemStatus status, long beforeId, Limit limit);
+
+    /**
+     * Read-only views of the items with the given IDs, in no particular order; missing IDs are skipped.
+     */
+    List<ItemView> findViewsByIdIn(Collection<Long> ids);
+
+    /*
+     * Lookups by status run on idx_item_status_id, lookups by email on idx_item_email.
+     */
+
+    List<Item> findByStatus(ItemStatus status);
+
+    long countByStatus(ItemStatus status);
+
+    List<Item> findByEmail(String email);
+
+    /**
+     * Returns which of the given IDs exist, without loading the entities.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Overwrites every column of one item in a single UPDATE, without loading it first.
+     * The version is incremented so concurrent conditional writers see the change.
+     *
+     * @return 1 if the item was updated, 0 if no item has that ID
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE VERSIONED Item i SET i.name = :name, i.description = :description, i.status = :status, "
+            + "i.email = :email WHERE i.id = :id")
+    int updateById(@Param("id") long id, @Param("name") String name, @Param("description") String description,
+                   @Param("status") ItemStatus status, @Param("email") String email);
+
+    /**
+     * Like {@link #updateById} but only if the stored version still equals {@code version}.
+     *
+     * @return 1 if the item was updated, 0 if it does not exist or was modified in the meantime
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE VERSIONED Item i SET i.name = :name, i.description = :description, i.status = :status, "
+            + "i.email = :email WHERE i.id = :id AND i.version = :version")
+    int updateByIdAndVersion(@Param("id") long id, @Param("version") long version, @Param("name") String name,
+                             @Param("description") String description, @Param("status") ItemStatus status,
+                             @Param("email") String email);
+
+    /**
+     * Deletes one item in a single DELETE, without loading it first.
+     *
+     * @return 1 if the item was deleted, 0 if no item has that ID
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM Item i WHERE i.id = :id")
+    int deleteItemById(@Param("id") long id);
+
+    /**
+     * Set-based status transition for the given IDs: one UPDATE statement, no entity loading.
+     * Versions are incremented, so a user edit based on the old version is rejected afterwards.
+     * Clears the persistence context afterwards so later reads see the new status.
+     *
+     * @return number of rows updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE VERSIONED Item i SET i.status = :status WHERE i.id IN :ids")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") ItemStatus status);
+
+    /**
+     * Set-based status transition for every item with {@code fromId <= id <= toId}.
+     *
+     * @return number of rows updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE VERSIONED Item i SET i.status = :status WHERE i.id BETWEEN :fromId AND :toId")
+    int updateStatusByIdRange(@Param("fromId") long fromId, @Param("toId") long toId, @Param("status") ItemStatus status);
 }
@@ -0,0 +1,26 @@
+package com.siemens.internship;
+
+import java.util.stream.Stream;
+
+/**
+ * Repository operations that need direct control over the JPA query.
+ */
+public interface ItemRepositoryCustom {
+
+    /**
+     * Streams a read-only view of every item in ID order from a forward-only result set.
+     * No entities are created, so the persistence context stays empty however many rows are read.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param fetchSize number of rows the JDBC driver fetches per round trip
+     */
+    Stream<ItemView> streamAll(int fetchSize);
+
+    /**
+     * Streams the searchable text of every item, without loading entities.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param fetchSize number of rows the JDBC driver fetches per round trip
+     */
+    Stream<ItemSearchIndex.Document> streamDocuments(int fetchSize);
+}
@@ -0,0 +1,31 @@
+package com.siemens.internship;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link ItemRepositoryCustom}, picked up by Spring Data by naming convention.
+ */
+class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<ItemView> streamAll(int fetchSize) {
+        return entityManager.createQuery("SELECT i.id, i.name, i.description, i.status, i.email, i.version "
+                        + "FROM Item i ORDER BY i.id", ItemView.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<ItemSearchIndex.Document> streamDocuments(int fetchSize) {
+        return entityManager.createQuery("SELECT i.id, i.name, i.description FROM Item i", ItemSearchIndex.Document.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+}
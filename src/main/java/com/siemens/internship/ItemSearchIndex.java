@@ -0,0 +1,422 @@
+package com.siemens.internship;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over item name and description, serving {@code GET /api/items/search}.
+ *
+ * Text is split into lower-cased letter/digit tokens. Each term maps to the IDs of the items
+ * containing it, sorted by ID, and the terms themselves are kept sorted so a prefix is one range
+ * lookup. Every query token must match (AND); a token matches the term equal to it and the terms
+ * starting with it, at half weight. Hits are ranked by the sum over matched terms of
+ * term frequency (name occurrences count {@value #NAME_WEIGHT} times) * idf.
+ *
+ * The index is built from the database before the application starts serving requests and then
+ * kept up to date by {@link ItemService} after each committed write.
+ */
+@Component
+public class ItemSearchIndex implements SmartInitializingSingleton {
+
+    /**
+     * Weight of a term occurrence in the name, relative to one in the description.
+     */
+    static final int NAME_WEIGHT = 3;
+
+    /**
+     * Most terms a single query token expands to; the most frequent ones are kept.
+     */
+    static final int MAX_PREFIX_EXPANSIONS = 128;
+
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int BUILD_FETCH_SIZE = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(ItemSearchIndex.class);
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, String[]> documentTerms = new HashMap<>();
+
+    /**
+     * Indexed text of one item.
+     */
+    public record Document(Long id, String name, String description) {
+    }
+
+    /**
+     * One page of ranked search results.
+     *
+     * @param ids   IDs of the matching items on this page, best match first
+     * @param total number of items matching the query
+     */
+    public record Result(List<Long> ids, int total) {
+    }
+
+    /**
+     * Loads every item into the index. Runs once all beans exist, before the web server accepts requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        Integer indexed = readOnly.execute(status -> {
+            int count = 0;
+            try (Stream<Document> documents = itemRepository.streamDocuments(BUILD_FETCH_SIZE)) {
+                Iterator<Document> iterator = documents.iterator();
+                while (iterator.hasNext()) {
+                    index(iterator.next());
+                    count++;
+                }
+            }
+            return count;
+        });
+        log.info("Indexed {} items for search in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds an item to the index, replacing whatever was indexed for its ID before.
+     */
+    public void index(Item item) {
+        index(new Document(item.getId(), item.getName(), item.getDescription()));
+    }
+
+    public void index(Document document) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(document.name()).forEach(term -> weights.merge(term, NAME_WEIGHT, Integer::sum));
+        tokenize(document.description()).forEach(term -> weights.merge(term, 1, Integer::sum));
+
+        long id = document.id();
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            String[] indexed = new String[weights.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                Postings postings = terms.get(entry.getKey());
+                if (postings == null) {
+                    postings = new Postings();
+                    terms.put(entry.getKey(), postings);
+                }
+                postings.put(id, entry.getValue());
+                // keep the dictionary's instance so each term string is stored once
+                indexed[i++] = terms.ceilingKey(entry.getKey());
+            }
+            documentTerms.put(id, indexed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an item from the index; unknown IDs are ignored.
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed items.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the items matching every token of {@code query} and returns one page of their IDs.
+     * A query without any letter or digit matches nothing.
+     *
+     * @param offset number of best matches to skip
+     * @param limit  maximum number of IDs to return
+     */
+    public Result search(String query, int offset, int limit) {
+        List<String> tokens = tokenize(query).distinct().toList();
+        if (tokens.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            List<List<Match>> matches = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                List<Match> expansions = expand(token);
+                if (expansions.isEmpty()) {
+                    return new Result(List.of(), 0);
+                }
+                matches.add(expansions);
+            }
+            // start from the rarest token so every further token only has to confirm few candidates
+            matches.sort(Comparator.comparingLong(ItemSearchIndex::postingCount));
+            Candidates candidates = union(matches.get(0));
+            for (int i = 1; i < matches.size() && candidates.size > 0; i++) {
+                candidates = intersect(candidates, matches.get(i));
+            }
+            return new Result(top(candidates, offset, limit), candidates.size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased letter/digit runs of {@code text}; overly long runs are cut.
+     */
+    static Stream<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Stream.empty();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, Math.min(i, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens.stream();
+    }
+
+    private void removeLocked(long id) {
+        String[] indexed = documentTerms.remove(id);
+        if (indexed == null) {
+            return;
+        }
+        for (String term : indexed) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    /**
+     * The exact term (if indexed) and the most frequent terms starting with {@code token}.
+     */
+    private List<Match> expand(String token) {
+        double documents = documentTerms.size();
+        List<Match> expansions = new ArrayList<>();
+        for (Map.Entry<String, Postings> entry : terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            Postings postings = entry.getValue();
+            boolean exact = entry.getKey().equals(token);
+            double idf = Math.log(1 + documents / postings.size);
+            expansions.add(new Match(postings, exact ? idf : idf * PREFIX_MATCH_FACTOR, exact));
+        }
+        if (expansions.size() > MAX_PREFIX_EXPANSIONS) {
+            expansions.sort(Comparator.comparing(Match::exact).thenComparingInt(match -> match.postings().size).reversed());
+            return expansions.subList(0, MAX_PREFIX_EXPANSIONS);
+        }
+        return expansions;
+    }
+
+    private static long postingCount(List<Match> matches) {
+        long count = 0;
+        for (Match match : matches) {
+            count += match.postings().size;
+        }
+        return count;
+    }
+
+    /**
+     * Every item matching any of {@code matches}, with the sum of their score contributions.
+     */
+    private static Candidates union(List<Match> matches) {
+        Candidates result = Candidates.of(matches.get(0));
+        for (int i = 1; i < matches.size(); i++) {
+            result = result.merge(Candidates.of(matches.get(i)), false);
+        }
+        return result;
+    }
+
+    /**
+     * The candidates that also match one of {@code matches}, with those contributions added.
+     * Few candidates are probed by binary search; otherwise the token's hits are merged in one pass.
+     */
+    private static Candidates intersect(Candidates candidates, List<Match> matches) {
+        long postings = postingCount(matches);
+        if ((long) candidates.size * matches.size() * 20 > postings) {
+            return candidates.merge(union(matches), true);
+        }
+        Candidates result = new Candidates(candidates.size);
+        for (int i = 0; i < candidates.size; i++) {
+            long id = candidates.ids[i];
+            double score = 0;
+            for (Match match : matches) {
+                int weight = match.postings().weight(id);
+                score += weight * match.factor();
+            }
+            if (score > 0) {
+                result.add(id, candidates.scores[i] + score);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * IDs of the candidates ranked {@code offset} to {@code offset + limit}, by score then ID.
+     */
+    private static List<Long> top(Candidates candidates, int offset, int limit) {
+        int wanted = (int) Math.min((long) offset + limit, candidates.size);
+        if (offset >= wanted) {
+            return List.of();
+        }
+        Comparator<Integer> ranking = (a, b) -> {
+            int byScore = Double.compare(candidates.scores[b], candidates.scores[a]);
+            return byScore != 0 ? byScore : Long.compare(candidates.ids[a], candidates.ids[b]);
+        };
+        // bounded heap holding the best `wanted` candidates, worst on top
+        PriorityQueue<Integer> best = new PriorityQueue<>(wanted, ranking.reversed());
+        for (int i = 0; i < candidates.size; i++) {
+            if (best.size() < wanted) {
+                best.add(i);
+            } else if (ranking.compare(i, best.peek()) < 0) {
+                best.poll();
+                best.add(i);
+            }
+        }
+        List<Integer> ranked = new ArrayList<>(best);
+        ranked.sort(ranking);
+        List<Long> ids = new ArrayList<>(wanted - offset);
+        for (int i = offset; i < wanted; i++) {
+            ids.add(candidates.ids[ranked.get(i)]);
+        }
+        return ids;
+    }
+
+    /**
+     * A term matched by a query token and the factor applied to its term frequencies.
+     */
+    private record Match(Postings postings, double factor, boolean exact) {
+    }
+
+    /**
+     * Items containing one term with their term frequency, sorted by ID in parallel arrays.
+     * IDs are assigned in ascending order, so adding a new item is an append.
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void put(long id, int weight) {
+            int index = size > 0 && ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                weights[index] = weight;
+                return;
+            }
+            int insertAt = -(index + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            weights[insertAt] = weight;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        int weight(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? weights[index] : 0;
+        }
+    }
+
+    /**
+     * Matching items and their scores, sorted by ID in parallel arrays.
+     */
+    private static final class Candidates {
+        private final long[] ids;
+        private final double[] scores;
+        private int size;
+
+        Candidates(int capacity) {
+            ids = new long[capacity];
+            scores = new double[capacity];
+        }
+
+        static Candidates of(Match match) {
+            Postings postings = match.postings();
+            Candidates candidates = new Candidates(postings.size);
+            for (int i = 0; i < postings.size; i++) {
+                candidates.add(postings.ids[i], postings.weights[i] * match.factor());
+            }
+            return candidates;
+        }
+
+        void add(long id, double score) {
+            ids[size] = id;
+            scores[size++] = score;
+        }
+
+        /**
+         * Merges two ID-sorted lists, adding the scores of common IDs; with {@code both} only common IDs are kept.
+         */
+        Candidates merge(Candidates other, boolean both) {
+            Candidates result = new Candidates(both ? Math.min(size, other.size) : size + other.size);
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (ids[i] == other.ids[j]) {
+                    result.add(ids[i], scores[i++] + other.scores[j++]);
+                } else if (ids[i] < other.ids[j]) {
+                    if (!both) {
+                        result.add(ids[i], scores[i]);
+                    }
+                    i++;
+                } else {
+                    if (!both) {
+                        result.add(other.ids[j], other.scores[j]);
+                    }
+                    j++;
+                }
+            }
+            if (!both) {
+                for (; i < size; i++) {
+                    result.add(ids[i], scores[i]);
+                }
+                for (; j < other.size; j++) {
+                    result.add(other.ids[j], other.scores[j]);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.siemens.internship;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results.
+ *
+ * @param items      the matching items on this page, best match first
+ * @param total      number of items matching the query
+ * @param nextOffset value to pass as {@code offset} to fetch the next page, or null on the last page
+ */
+public record ItemSearchPage(List<ItemView> items, int total, Long nextOffset) {
+
+    public boolean hasNext() {
+        return nextOffset != null;
+    }
+}
@@ -1,93 +1,924 @@
 package com.siemens.internship;
 
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
-import java.util.Optional;
+import java.time.Duration;
+import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service layer containing business logic for Items.
  * Handles CRUD operations and asynchronous batch processing.
+ *
+ * Every public operation is timed as {@code items.service} (tags class, method, exception);
+ * processing additionally reports through {@link ItemProcessingMetrics}.
  */
 @Service
+@Timed("items.service")
 public class ItemService {
 
+    /**
+     * Name of the cache holding items by ID, read through by {@link #findById(Long)}.
+     */
+    public static final String ITEM_CACHE = "items";
+
+    /**
+     * Most items {@link #processItemsAsync()} returns.
+     */
+    static final int MAX_PROCESS_RESULTS = 10_000;
+
+
+    private static final Logger log = LoggerFactory.getLogger(ItemService.class);
+
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private ItemProcessingProperties processingProperties;
+
+    @Autowired
+    private ItemExportProperties exportProperties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    @Autowired
+    private ItemProcessingMetrics processingMetrics;
+
+    @Autowired
+    private DeadLetterItemRepository deadLetterRepository;
+
+    @Autowired
+    private ItemChangeLog changeLog;
+
+    @Autowired
+    private ItemPipeline pipeline;
+
     /**
-     * Thread pool for parallel async processing.
-     * You can tune the pool size as needed.
+     * Managed executor for parallel async processing, chosen by items.processing.execution-mode.
      */
-    private final ExecutorService executor =
-            Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    @Autowired
+    @Qualifier(ItemExecutorConfiguration.ITEM_EXECUTOR)
+    private Executor executor;
 
     /**
-     * Asynchronously processes *every* item by:
-     *  1. Retrieving them from the DB
-     *  2. Setting status to "PROCESSED"
-     *  3. Saving back to the DB
+     * Asynchronously processes every pending item (see {@link #processAllInChunks(ProcessingListener)}) by:
+     *  1. Retrieving them from the DB chunk by chunk
+     *  2. Passing them through the {@link ItemProcessor} stages and setting status to PROCESSED
+     *  3. Committing each chunk back to the DB
      *
-     * Tracks which ones succeeded and returns that list once *all* are done.
+     * Tracks which ones succeeded and returns the first {@value #MAX_PROCESS_RESULTS} of them, in
+     * the order they were processed, once *all* are done. Only their IDs are kept while the run
+     * goes on, so memory stays bounded whatever the table size.
      *
-     * @return a CompletableFuture that completes with the list of processed items
+     * Not {@code @Async}: the work is already dispatched onto the processing executor, and an
+     * {@code @Async} proxy would park one of its threads waiting for the result.
+     *
+     * @return a CompletableFuture that completes with the processed items, as they are now
+     * @deprecated holds the caller for the whole run; start a job through {@link ProcessingJobService#start()}
+     *             instead, which reports progress and pages through every processed item
      */
-    @Async
+    @Deprecated
     public CompletableFuture<List<Item>> processItemsAsync() {
-        // 1) fetch all items
-        List<Item> toProcess = itemRepository.findAll();
-
-        // thread-safe trackers
-        AtomicInteger successCount = new AtomicInteger(0);
-        ConcurrentLinkedQueue<Item> processedItems = new ConcurrentLinkedQueue<>();
-
-        // 2) kick off one CompletableFuture per item
-        List<CompletableFuture<Void>> futures = toProcess.stream()
-                .map(item -> CompletableFuture.runAsync(() -> {
-                    try {
-                        // update and save
-                        item.setStatus("PROCESSED");
-                        Item saved = itemRepository.save(item);
-
-                        // record success
-                        processedItems.add(saved);
-                        successCount.incrementAndGet();
-                    } catch (Exception ex) {
-                        // log the failure and skip this item
-                        // e.g. logger.error("Failed to process item {}", item.getId(), ex);
+        List<Long> processedIds = new ArrayList<>();
+
+        return processAllInChunks(ids -> {
+            synchronized (processedIds) {
+                ids.stream().limit(MAX_PROCESS_RESULTS - processedIds.size()).forEach(processedIds::add);
+            }
+        }).thenApply(successCount -> {
+            log.info("Processed {} items", successCount);
+            Map<Long, Item> byId = new HashMap<>();
+            int chunkSize = Math.max(1, processingProperties.getChunkSize());
+            for (int from = 0; from < processedIds.size(); from += chunkSize) {
+                itemRepository.findAllById(processedIds.subList(from, Math.min(from + chunkSize, processedIds.size())))
+                        .forEach(item -> byId.put(item.getId(), item));
+            }
+            return processedIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+        });
+    }
+
+    /**
+     * Streams every pending item through the processing step without loading the whole table.
+     *
+     * With items.processing.incremental (the default) only items whose status is not PROCESSED are
+     * read, one status group at a time through idx_item_status_id, so a run costs in proportion to
+     * the delta rather than the table. Otherwise every item is read in primary key order.
+     *
+     * IDs are read in keyset pages of {@code chunkSize}. A fixed number of workers
+     * ({@code maxInFlightChunks}) pull the next page from a shared cursor, so at most that many
+     * chunks are in memory or on the executor at once. Each chunk is committed in one transaction.
+     *
+     * A chunk failing with a transient error (locking conflict, timeout, no connection) is retried
+     * with exponential backoff and jitter; if it still fails it is rolled back, reported and left
+     * pending for the next run. A chunk failing with any other error is split in halves until the
+     * items failing on their own are isolated: those are moved to the dead-letter table
+     * ({@link DeadLetterItem}) once the rest of the chunk is committed. If too much of a chunk fails
+     * that way (items.processing.max-dead-letter-ratio), the error is systematic rather than a few
+     * bad items: nothing is dead-lettered and the run fails. No other failure stops the other chunks.
+     *
+     * @param listener receives every committed or failed chunk, and can stop the run between chunks
+     * @return a CompletableFuture that completes with the number of processed items, or fails with
+     *         an {@link IllegalStateException} when the run was stopped by a systematic failure
+     */
+    public CompletableFuture<Long> processAllInChunks(ProcessingListener listener) {
+        return processAllInChunks(listener, null);
+    }
+
+    /**
+     * Like {@link #processAllInChunks(ProcessingListener)}, but skips everything up to and including
+     * {@code resumeFrom}, a position previously reported through {@link ProcessingListener#onCheckpoint}.
+     */
+    public CompletableFuture<Long> processAllInChunks(ProcessingListener listener, ProcessingPosition resumeFrom) {
+        IdCursor cursor = new IdCursor(processingProperties.getChunkSize(), processingProperties.isIncremental(), resumeFrom);
+        AtomicLong successCount = new AtomicLong();
+        AtomicReference<RuntimeException> abort = new AtomicReference<>();
+        long runStart = System.nanoTime();
+
+        int workerCount = Math.max(1, processingProperties.getMaxInFlightChunks());
+        List<CompletableFuture<?>> workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            Runnable worker = () -> {
+                Chunk chunk;
+                while (!listener.isCancelled() && abort.get() == null && (chunk = cursor.next()) != null) {
+                    if (processIsolatingFailures(chunk.ids(), listener, successCount, abort)) {
+                        cursor.committed(chunk, listener);
                     }
-                }, executor))
-                .collect(Collectors.toList());
+                }
+            };
+            try {
+                workers.add(CompletableFuture.runAsync(worker, executor));
+            } catch (RejectedExecutionException ex) {
+                if (workers.isEmpty()) {
+                    throw ex;
+                }
+                // saturated executor: carry on with the workers already running
+                log.warn("Processing with {} of {} workers, executor is saturated", workers.size(), workerCount);
+                break;
+            }
+        }
 
-        // 3) when *all* are done, return the list of successes
-        return CompletableFuture
-                .allOf(futures.toArray(new CompletableFuture[0]))
+        return CompletableFuture.allOf(workers.toArray(CompletableFuture<?>[]::new))
                 .thenApply(ignored -> {
-                    // you could also expose successCount.get() if you like
-                    return processedItems
-                            .stream()
-                            .collect(Collectors.toList());
+                    processingMetrics.runFinished(successCount.get(), System.nanoTime() - runStart);
+                    if (abort.get() != null) {
+                        throw abort.get();
+                    }
+                    return successCount.get();
                 });
     }
 
+    /**
+     * Processes one chunk, isolating the items that fail on their own (see {@link #isolate}). They are
+     * dead-lettered only if the rest of the chunk committed, and only if there are no more of them
+     * than items.processing.max-dead-letter-ratio of the chunk (always at least one). Past that the
+     * error is systematic (a schema mismatch, a broken stage): the items stay pending, nothing is
+     * dead-lettered and {@code abort} is set to stop the run.
+     *
+     * @return true if every item was processed or dead-lettered, false if some are still pending
+     */
+    private boolean processIsolatingFailures(List<Long> ids, ProcessingListener listener, AtomicLong successCount,
+                                             AtomicReference<RuntimeException> abort) {
+        long start = System.nanoTime();
+        int maxPoison = Math.max(1, (int) (ids.size() * processingProperties.getMaxDeadLetterRatio()));
+        Isolation isolation = new Isolation(maxPoison);
+        isolate(ids, listener, successCount, isolation);
+        if (isolation.poison.isEmpty()) {
+            return !isolation.pending;
+        }
+
+        if (isolation.isSystematic()) {
+            List<Long> failed = new ArrayList<>(isolation.poison.keySet());
+            failed.addAll(isolation.skipped);
+            Exception cause = isolation.poison.values().iterator().next();
+            log.error("{} of {} items starting at id {} failed on their own, stopping the run instead of dead-lettering them",
+                    failed.size(), ids.size(), ids.get(0), cause);
+            processingMetrics.chunkFailed(failed.size(), System.nanoTime() - start);
+            listener.onChunkFailed(failed, cause);
+            abort.compareAndSet(null, new IllegalStateException("Processing stopped by a systematic failure", cause));
+            return false;
+        }
+        if (isolation.pending) {
+            // the rest of the chunk did not commit, so these may not be at fault: retry them next run
+            isolation.poison.forEach((id, ex) -> listener.onChunkFailed(List.of(id), ex));
+            return false;
+        }
+        boolean allDeadLettered = true;
+        for (Map.Entry<Long, Exception> poison : isolation.poison.entrySet()) {
+            long deadLetterStart = System.nanoTime();
+            allDeadLettered &= deadLetter(poison.getKey(), poison.getValue());
+            processingMetrics.itemDeadLettered(System.nanoTime() - deadLetterStart);
+            listener.onItemDeadLettered(poison.getKey(), poison.getValue());
+        }
+        return allDeadLettered;
+    }
+
+    /**
+     * Processes {@code ids} in one transaction, retrying transient errors. On any other error the
+     * IDs are split in halves and each half is processed the same way, down to single items, which
+     * are collected in {@code isolation} as poison. Isolating one poison item in a chunk of n costs
+     * about 2 * log2(n) extra transactions; once more poison items are found than the chunk may
+     * dead-letter, the remaining IDs are not tried any more.
+     */
+    private void isolate(List<Long> ids, ProcessingListener listener, AtomicLong successCount, Isolation isolation) {
+        if (isolation.isSystematic()) {
+            isolation.skipped.addAll(ids);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<Long> processed = retryTransient(() -> processChunk(ids));
+            processingMetrics.chunkProcessed(processed.size(), System.nanoTime() - start);
+            successCount.addAndGet(processed.size());
+            listener.onChunkProcessed(processed);
+        } catch (Exception ex) {
+            if (isTransient(ex)) {
+                processingMetrics.chunkFailed(ids.size(), System.nanoTime() - start);
+                log.error("Failed to process {} items starting at id {} after retries", ids.size(), ids.get(0), ex);
+                listener.onChunkFailed(ids, ex);
+                isolation.pending = true;
+                return;
+            }
+            if (ids.size() == 1) {
+                isolation.poison.put(ids.get(0), ex);
+                return;
+            }
+            log.warn("Processing {} items starting at id {} failed, splitting them to isolate the failing items: {}",
+                    ids.size(), ids.get(0), ex.toString());
+            int half = ids.size() / 2;
+            isolate(ids.subList(0, half), listener, successCount, isolation);
+            isolate(ids.subList(half, ids.size()), listener, successCount, isolation);
+        }
+    }
+
+    /**
+     * What isolating the failures of one chunk found: the items failing on their own with their
+     * error, the IDs left untried once there were too many of those, and whether part of the chunk
+     * is still pending after a transient failure.
+     */
+    private static final class Isolation {
+        private final int maxPoison;
+        private final Map<Long, Exception> poison = new LinkedHashMap<>();
+        private final List<Long> skipped = new ArrayList<>();
+        private boolean pending;
+
+        Isolation(int maxPoison) {
+            this.maxPoison = maxPoison;
+        }
+
+        boolean isSystematic() {
+            return poison.size() > maxPoison;
+        }
+    }
+
+    /**
+     * Records a poison item in the dead-letter table and sets it to FAILED, in one transaction.
+     *
+     * @return false if that transaction failed too, so the item is still pending
+     */
+    private boolean deadLetter(Long id, Exception failure) {
+        log.error("Moving item {} to the dead-letter table: {}", id, DeadLetterItem.reasonOf(failure));
+        try {
+            transactionTemplate.execute(status -> {
+                DeadLetterItem entry = deadLetterRepository.findById(id).orElseGet(() -> new DeadLetterItem(id));
+                entry.recordFailure(failure);
+                deadLetterRepository.save(entry);
+                itemRepository.updateStatusByIds(List.of(id), ItemStatus.FAILED);
+                evictCached(List.of(id));
+                changeLog.recordItems(List.of(id), ItemChange.Type.UPDATED);
+                return null;
+            });
+            return true;
+        } catch (Exception ex) {
+            log.error("Could not move item {} to the dead-letter table", id, ex);
+            return false;
+        }
+    }
+
+    /**
+     * Without {@link ItemProcessor} stages, marks one chunk processed with a single set-based UPDATE;
+     * with the change feed entry that makes two statements per chunk whatever its size. Only if some
+     * items were deleted meanwhile are the remaining IDs read back.
+     *
+     * With stages, loads the chunk and runs it through the {@link ItemPipeline} with no transaction
+     * or connection held, then writes it back in a short transaction: the rows are read again, and
+     * if one changed or disappeared meanwhile the chunk fails with an optimistic locking error, which
+     * is retried from the load. Otherwise the results are written with batched UPDATEs and reindexed
+     * for search once committed.
+     *
+     * @return the IDs of the items processed
+     */
+    private List<Long> processChunk(List<Long> ids) {
+        if (!pipeline.isEmpty()) {
+            List<Item> items = itemRepository.findAllById(ids);
+            pipeline.process(items);
+            return transactionTemplate.execute(status -> {
+                Map<Long, Item> current = itemRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Item::getId, Function.identity()));
+                List<Item> written = new ArrayList<>(items.size());
+                for (Item item : items) {
+                    Item row = current.get(item.getId());
+                    if (row == null || !Objects.equals(row.getVersion(), item.getVersion())) {
+                        throw new ObjectOptimisticLockingFailureException(Item.class, item.getId());
+                    }
+                    row.setName(item.getName());
+                    row.setDescription(item.getDescription());
+                    row.setEmail(item.getEmail());
+                    row.setStatus(ItemStatus.PROCESSED);
+                    written.add(row);
+                }
+                // flush here so a conflicting write surfaces as a (retried) optimistic locking failure
+                itemRepository.flush();
+                evictCached(ids);
+                changeLog.recordItems(ids, ItemChange.Type.UPDATED);
+                afterCommit(() -> written.forEach(searchIndex::index));
+                return written.stream().map(Item::getId).toList();
+            });
+        }
+        return transactionTemplate.execute(status -> {
+            int updated = itemRepository.updateStatusByIds(ids, ItemStatus.PROCESSED);
+            evictCached(ids);
+            changeLog.recordItems(ids, ItemChange.Type.UPDATED);
+            return updated == ids.size() ? ids : itemRepository.findExistingIds(ids);
+        });
+    }
+
+    /**
+     * IDs handed out by the cursor, with their sequence number and the position they end at.
+     */
+    private record Chunk(long seq, ItemStatus status, List<Long> ids) {
+        ProcessingPosition end() {
+            return new ProcessingPosition(status, ids.get(ids.size() - 1));
+        }
+    }
+
+    /**
+     * Shared keyset cursor over the IDs to process; hands out one chunk per call until every group
+     * is exhausted. Incremental runs have one group per pending status, full runs a single group
+     * over the primary key.
+     *
+     * It also tracks the checkpoint: the end of the last chunk such that it and every chunk handed
+     * out before it have committed. A failed chunk therefore holds the checkpoint back.
+     */
+    private final class IdCursor {
+        private final int chunkSize;
+        private final boolean incremental;
+        private final List<ItemStatus> groups;
+        private final ProcessingPosition resumeFrom;
+        private int group;
+        private long lastId;
+        private long nextSeq;
+        private long nextToCommit;
+        private final Map<Long, ProcessingPosition> committedAhead = new HashMap<>();
+
+        IdCursor(int chunkSize, boolean incremental, ProcessingPosition resumeFrom) {
+            this.chunkSize = Math.max(1, chunkSize);
+            this.incremental = incremental;
+            this.resumeFrom = resumeFrom;
+            List<ItemStatus> statuses = incremental
+                    ? new ArrayList<>(itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED))
+                    : new ArrayList<>(Collections.singletonList(null));
+            // dead-lettered items wait to be requeued
+            statuses.remove(ItemStatus.FAILED);
+            statuses.sort(ProcessingPosition.STATUS_ORDER);
+            if (resumeFrom != null) {
+                statuses.removeIf(status -> ProcessingPosition.STATUS_ORDER.compare(status, resumeFrom.status()) < 0);
+            }
+            this.groups = statuses;
+            this.lastId = startOf(0);
+        }
+
+        synchronized Chunk next() {
+            while (group < groups.size()) {
+                ItemStatus status = groups.get(group);
+                List<Long> ids = fetch(status, lastId);
+                if (ids.size() < chunkSize) {
+                    group++;
+                    lastId = startOf(group);
+                } else {
+                    lastId = ids.get(ids.size() - 1);
+                }
+                if (!ids.isEmpty()) {
+                    return new Chunk(nextSeq++, status, ids);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Records a committed chunk and reports the checkpoint to {@code listener} if it moved.
+         */
+        synchronized void committed(Chunk chunk, ProcessingListener listener) {
+            committedAhead.put(chunk.seq(), chunk.end());
+            ProcessingPosition checkpoint = null;
+            ProcessingPosition next;
+            while ((next = committedAhead.remove(nextToCommit)) != null) {
+                checkpoint = next;
+                nextToCommit++;
+            }
+            if (checkpoint != null) {
+                listener.onCheckpoint(checkpoint);
+            }
+        }
+
+        private List<Long> fetch(ItemStatus status, long afterId) {
+            Pageable page = PageRequest.ofSize(chunkSize);
+            if (!incremental) {
+                return itemRepository.findIdsAfter(afterId, page);
+            }
+            return status == null
+                    ? itemRepository.findIdsWithoutStatusAfter(afterId, page)
+                    : itemRepository.findIdsByStatusAfter(status, afterId, page);
+        }
+
+        private long startOf(int groupIndex) {
+            if (resumeFrom != null && groupIndex < groups.size()
+                    && Objects.equals(groups.get(groupIndex), resumeFrom.status())) {
+                return resumeFrom.lastId();
+            }
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Moves the given items to {@code status} with one set-based UPDATE.
+     *
+     * @return number of items actually updated
+     */
+    @Transactional
+    public int updateStatus(Collection<Long> ids, ItemStatus status) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        evictCached(ids);
+        changeLog.recordItems(ids, ItemChange.Type.UPDATED);
+        return itemRepository.updateStatusByIds(ids, status);
+    }
+
+    /**
+     * Moves every item with {@code fromId <= id <= toId} to {@code status} with one set-based UPDATE.
+     *
+     * @return number of items actually updated
+     */
+    @Transactional
+    public int updateStatusInRange(long fromId, long toId, ItemStatus status) {
+        // the range may be huge, so drop the whole cache rather than every key in it
+        itemCache().ifPresent(Cache::clear);
+        changeLog.recordItemRange(fromId, toId, ItemChange.Type.UPDATED);
+        return itemRepository.updateStatusByIdRange(fromId, toId, status);
+    }
+
+    /**
+     * Inserts the given items, one transaction per chunk so the inserts are JDBC-batched.
+     * Client-supplied IDs are ignored.
+     *
+     * @return one result per item, in input order
+     */
+    public List<BatchItemResult> createAll(List<Item> items) {
+        return writeInChunks(items, chunk -> {
+            chunk.forEach(item -> {
+                item.setId(null);
+                item.setVersion(null);
+            });
+            List<Item> saved = itemRepository.saveAll(chunk);
+            afterCommit(() -> saved.forEach(searchIndex::index));
+            changeLog.recordItems(saved.stream().map(Item::getId).toList(), ItemChange.Type.CREATED);
+            List<BatchItemResult> results = new ArrayList<>(saved.size());
+            for (int i = 0; i < saved.size(); i++) {
+                results.add(BatchItemResult.success(i, saved.get(i).getId(), HttpStatus.CREATED));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Updates the given items by ID. Each chunk is loaded with one IN query and the changes are
+     * flushed as batched, version-checked UPDATEs on commit. Items whose ID does not exist are
+     * reported as not found; items carrying a version that no longer matches as precondition failed.
+     *
+     * @return one result per item, in input order
+     */
+    public List<BatchItemResult> updateAll(List<Item> items) {
+        return writeInChunks(items, chunk -> {
+            Map<Long, Item> existing = itemRepository.findAllById(chunk.stream().map(Item::getId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            List<BatchItemResult> results = new ArrayList<>(chunk.size());
+            List<Item> updated = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Item update = chunk.get(i);
+                Item target = existing.get(update.getId());
+                if (target == null) {
+                    results.add(BatchItemResult.failure(i, update.getId(), HttpStatus.NOT_FOUND, "Item not found"));
+                    continue;
+                }
+                if (update.getVersion() != null && !update.getVersion().equals(target.getVersion())) {
+                    results.add(BatchItemResult.failure(i, update.getId(), HttpStatus.PRECONDITION_FAILED,
+                            "Item was modified concurrently"));
+                    continue;
+                }
+                target.setName(update.getName());
+                target.setDescription(update.getDescription());
+                target.setStatus(update.getStatus());
+                target.setEmail(update.getEmail());
+                updated.add(target);
+                results.add(BatchItemResult.success(i, target.getId(), HttpStatus.OK));
+            }
+            afterCommit(() -> updated.forEach(searchIndex::index));
+            changeLog.recordItems(updated.stream().map(Item::getId).toList(), ItemChange.Type.UPDATED);
+            return results;
+        });
+    }
+
+    /**
+     * Deletes the given IDs with one DELETE statement per chunk; missing IDs are reported as not found.
+     *
+     * @return one result per ID, in input order
+     */
+    public List<BatchItemResult> deleteAll(List<Long> ids) {
+        return writeInChunks(ids, chunk -> {
+            Set<Long> existing = new HashSet<>(itemRepository.findExistingIds(chunk));
+            itemRepository.deleteAllByIdInBatch(existing);
+            afterCommit(() -> existing.forEach(searchIndex::remove));
+            changeLog.recordDeletes(existing);
+            List<BatchItemResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Long id = chunk.get(i);
+                results.add(existing.contains(id)
+                        ? BatchItemResult.success(i, id, HttpStatus.NO_CONTENT)
+                        : BatchItemResult.failure(i, id, HttpStatus.NOT_FOUND, "Item not found"));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Applies {@code writer} to consecutive chunks of {@code elements}, each in its own transaction,
+     * retrying a chunk on optimistic locking conflicts. A chunk that still fails is rolled back and
+     * all of its elements are reported as failed, so one bad chunk does not abort the rest of the batch.
+     * Clients only get a fixed error per status; the cause is logged.
+     */
+    private <T> List<BatchItemResult> writeInChunks(List<T> elements,
+                                                    Function<List<T>, List<BatchItemResult>> writer) {
+        List<BatchItemResult> results = new ArrayList<>(elements.size());
+        int chunkSize = Math.max(1, processingProperties.getChunkSize());
+        for (int from = 0; from < elements.size(); from += chunkSize) {
+            List<T> chunk = elements.subList(from, Math.min(from + chunkSize, elements.size()));
+            int offset = from;
+            try {
+                retryTransient(() -> transactionTemplate.execute(status -> {
+                    List<BatchItemResult> written = writer.apply(chunk);
+                    evictCached(written.stream().map(BatchItemResult::id).filter(Objects::nonNull).toList());
+                    return written;
+                })).forEach(result -> results.add(result.withIndex(offset + result.index())));
+            } catch (Exception ex) {
+                log.error("Failed to write batch chunk of {} elements at offset {}", chunk.size(), offset, ex);
+                boolean conflict = ex instanceof OptimisticLockingFailureException;
+                HttpStatus status = conflict ? HttpStatus.CONFLICT : HttpStatus.INTERNAL_SERVER_ERROR;
+                String error = conflict ? "Batch chunk conflicted with concurrent changes" : "Batch chunk failed";
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(BatchItemResult.failure(offset + i, null, status, error));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs {@code action}, retrying it while it fails with a transient error. The delay doubles
+     * after every attempt up to {@code retryMaxBackoff}, and a random half of it is jittered so
+     * workers that conflicted with each other do not collide again. The action must be a whole
+     * transaction, so every retry starts from fresh rows.
+     */
+    private <T> T retryTransient(Supplier<T> action) {
+        int attempts = Math.max(1, processingProperties.getRetryAttempts());
+        long backoffMillis = processingProperties.getRetryBackoff().toMillis();
+        long maxBackoffMillis = processingProperties.getRetryMaxBackoff().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (RuntimeException ex) {
+                if (attempt >= attempts || !isTransient(ex)) {
+                    throw ex;
+                }
+                long delay = Math.min(backoffMillis, maxBackoffMillis);
+                delay = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+                log.debug("Transient failure ({}), retrying in {} ms (attempt {}/{})", ex, delay, attempt, attempts);
+                processingMetrics.retried();
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+                backoffMillis *= 2;
+            }
+        }
+    }
+
+    /**
+     * Whether retrying the failed transaction may succeed: locking conflicts, timeouts and
+     * connection problems, as opposed to errors in the data or the code.
+     */
+    static boolean isTransient(Throwable ex) {
+        return ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof CannotCreateTransactionException;
+    }
+
+    /**
+     * Returns one keyset page of items ordered by ID.
+     *
+     * Deep pages cost the same as the first one because the query seeks directly to the cursor
+     * on the primary key (or on the status index when filtering) instead of skipping rows.
+     *
+     * @param after     ID of the last item of the previous page, or null for the first page
+     * @param limit     maximum number of items to return
+     * @param status    optional status filter
+     * @param direction ascending or descending ID order
+     */
+    public CursorPage<ItemView> findPage(Long after, int limit, ItemStatus status, Sort.Direction direction) {
+        // fetch one extra row to know whether another page follows
+        Limit fetch = Limit.of(limit + 1);
+        List<ItemView> rows;
+        if (direction.isAscending()) {
+            long cursor = after == null ? Long.MIN_VALUE : after;
+            rows = status == null
+                    ? itemRepository.findByIdGreaterThanOrderByIdAsc(cursor, fetch)
+                    : itemRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, cursor, fetch);
+        } else {
+            long cursor = after == null ? Long.MAX_VALUE : after;
+            rows = status == null
+                    ? itemRepository.findByIdLessThanOrderByIdDesc(cursor, fetch)
+                    : itemRepository.findByStatusAndIdLessThanOrderByIdDesc(status, cursor, fetch);
+        }
+
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<ItemView> page = rows.subList(0, limit);
+        return new CursorPage<>(page, page.get(limit - 1).id());
+    }
+
+    /**
+     * One keyset page of dead-lettered items, ordered by item ID.
+     *
+     * @param after item ID of the last entry of the previous page, or null for the first page
+     */
+    public CursorPage<DeadLetterItem> findDeadLetters(Long after, int limit) {
+        List<DeadLetterItem> rows = deadLetterRepository.findByItemIdGreaterThanOrderByItemIdAsc(
+                after == null ? Long.MIN_VALUE : after, Limit.of(limit + 1));
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<DeadLetterItem> page = rows.subList(0, limit);
+        return new CursorPage<>(page, page.get(limit - 1).getItemId());
+    }
+
+    /**
+     * Removes an item from the dead-letter table and sets it back to NEW, so the next run processes it again.
+     *
+     * @return false if the item is not dead-lettered
+     */
+    @Transactional
+    public boolean requeueDeadLetter(Long itemId) {
+        if (!deadLetterRepository.existsById(itemId)) {
+            return false;
+        }
+        deadLetterRepository.deleteById(itemId);
+        itemRepository.updateStatusByIds(List.of(itemId), ItemStatus.NEW);
+        evictCached(List.of(itemId));
+        changeLog.recordItems(List.of(itemId), ItemChange.Type.UPDATED);
+        return true;
+    }
+
+    /**
+     * Requeues those of the given items that are dead-lettered (see {@link #requeueDeadLetter}),
+     * all in one transaction.
+     *
+     * @return the number of items requeued
+     */
+    @Transactional
+    public int requeueDeadLetters(Collection<Long> itemIds) {
+        List<Long> ids = deadLetterRepository.findAllById(itemIds).stream().map(DeadLetterItem::getItemId).toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        deadLetterRepository.deleteAllByIdInBatch(ids);
+        itemRepository.updateStatusByIds(ids, ItemStatus.NEW);
+        evictCached(ids);
+        changeLog.recordItems(ids, ItemChange.Type.UPDATED);
+        return ids.size();
+    }
+
+    /**
+     * Changes to items after the change with ID {@code since}, oldest first (see {@link ItemChangeLog}).
+     *
+     * When there are none and {@code wait} is positive, the result completes once another write
+     * commits or {@code wait} has passed, whichever comes first (long polling); it may still be empty.
+     */
+    public CompletableFuture<List<ItemChange>> findChanges(long since, int limit, Duration wait) {
+        CompletableFuture<Void> nextCommit = changeLog.nextCommit(wait);
+        List<ItemChange> changes = changeLog.read(since, limit);
+        if (!changes.isEmpty() || wait.isZero()) {
+            nextCommit.cancel(false);
+            return CompletableFuture.completedFuture(changes);
+        }
+        // read on another thread: the commit that wakes us up runs its completion callbacks
+        return nextCommit.thenApplyAsync(ignored -> changeLog.read(since, limit));
+    }
+
+    /**
+     * Full-text search over item name and description, best match first (see {@link ItemSearchIndex}).
+     * Items are loaded with one query per page; items deleted since the lookup are left out.
+     *
+     * @param offset number of best matches to skip
+     * @param limit  maximum number of items to return
+     */
+    public ItemSearchPage search(String query, int offset, int limit) {
+        ItemSearchIndex.Result result = searchIndex.search(query, offset, limit);
+        Map<Long, ItemView> loaded = itemRepository.findViewsByIdIn(result.ids()).stream()
+                .collect(Collectors.toMap(ItemView::id, Function.identity()));
+        List<ItemView> items = result.ids().stream().map(loaded::get).filter(Objects::nonNull).toList();
+        long next = (long) offset + result.ids().size();
+        return new ItemSearchPage(items, result.total(), next < result.total() ? next : null);
+    }
+
+    /**
+     * Feeds every item, in ID order, to {@code sink} from a scrolling read-only query.
+     *
+     * Rows are fetched {@code fetchSize} at a time as views, never as entities, so memory use
+     * does not grow with the table.
+     *
+     * @return number of exported items
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<ItemView> sink) {
+        long count = 0;
+        try (Stream<ItemView> items = itemRepository.streamAll(exportProperties.getFetchSize())) {
+            Iterator<ItemView> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes the given IDs from the item cache. Inside a transaction the eviction is deferred until
+     * commit, so a concurrent reader cannot put the old row back into the cache in between.
+     */
+    private void evictCached(Collection<Long> ids) {
+        itemCache().ifPresent(cache -> ids.forEach(cache::evict));
+    }
+
+    /**
+     * Runs {@code indexChange} once the current transaction commits, or right away outside one,
+     * so the search index never shows a write that was rolled back.
+     */
+    private void afterCommit(Runnable indexChange) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            indexChange.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indexChange.run();
+            }
+        });
+    }
+
+    private Optional<Cache> itemCache() {
+        return Optional.ofNullable(cacheManager.getCache(ITEM_CACHE))
+                .map(TransactionAwareCacheDecorator::new);
+    }
+
     // --- the rest of your CRUD methods ---
     public List<Item> findAll() {
         return itemRepository.findAll();
     }
 
+    /**
+     * Creates the item, or merges it into the stored one when one with its ID exists.
+     * The change is recorded as created or updated by which of the two happened.
+     * The saved item is put into the item cache once the transaction commits.
+     */
+    @Transactional
     public Item save(Item item) {
-        return itemRepository.save(item);
+        boolean exists = item.getId() != null && itemRepository.existsById(item.getId());
+        ItemChange.Type type = exists ? ItemChange.Type.UPDATED : ItemChange.Type.CREATED;
+        Item saved = itemRepository.save(item);
+        itemCache().ifPresent(cache -> cache.put(saved.getId(), saved));
+        afterCommit(() -> searchIndex.index(saved));
+        changeLog.recordItems(List.of(saved.getId()), type);
+        return saved;
     }
 
+    @Transactional
     public void deleteById(Long id) {
-        itemRepository.deleteById(id);
+        delete(id);
     }
 
+    /**
+     * Replaces the item with the given ID in one UPDATE statement, whatever its current version.
+     * "Not found" is detected from the affected row count, so no read is needed beforehand.
+     *
+     * @return the updated item, or empty if no item has that ID
+     */
+    @Transactional
+    public Optional<Item> update(Long id, Item item) {
+        return update(id, item, null);
+    }
+
+    /**
+     * Replaces the item with the given ID in one UPDATE statement, optionally only if its stored
+     * version still equals {@code expectedVersion}. The extra existence check runs only when the
+     * conditional update matched nothing, to tell a missing item from a concurrent modification.
+     *
+     * @param expectedVersion version the caller last saw, or null to update unconditionally
+     * @return the updated item (with its new version when it is known), or empty if no item has that ID
+     * @throws ObjectOptimisticLockingFailureException if the item exists but its version differs
+     */
+    @Transactional
+    public Optional<Item> update(Long id, Item item, Long expectedVersion) {
+        int updated = expectedVersion == null
+                ? itemRepository.updateById(id, item.getName(), item.getDescription(), item.getStatus(), item.getEmail())
+                : itemRepository.updateByIdAndVersion(id, expectedVersion, item.getName(), item.getDescription(),
+                        item.getStatus(), item.getEmail());
+        if (updated == 0) {
+            if (expectedVersion != null && itemRepository.existsById(id)) {
+                throw new ObjectOptimisticLockingFailureException(Item.class, id);
+            }
+            return Optional.empty();
+        }
+        evictCached(List.of(id));
+        changeLog.recordItems(List.of(id), ItemChange.Type.UPDATED);
+        ItemSearchIndex.Document document = new ItemSearchIndex.Document(id, item.getName(), item.getDescription());
+        afterCommit(() -> searchIndex.index(document));
+        item.setId(id);
+        item.setVersion(expectedVersion == null ? null : expectedVersion + 1);
+        return Optional.of(item);
+    }
+
+    /**
+     * Deletes the item with the given ID in one DELETE statement.
+     *
+     * @return true if an item was deleted, false if no item has that ID
+     */
+    @Transactional
+    public boolean delete(Long id) {
+        boolean deleted = itemRepository.deleteItemById(id) > 0;
+        if (deleted) {
+            evictCached(List.of(id));
+            afterCommit(() -> searchIndex.remove(id));
+            changeLog.recordDeletes(List.of(id));
+        }
+        return deleted;
+    }
+
+    /**
+     * Looks an item up by ID, served from the item cache when present.
+     * Cached instances are shared, so callers must not modify the returned item.
+     */
+    @Cacheable(cacheNames = ITEM_CACHE, unless = "#result == null")
     public Optional<Item> findById(Long id) {
         return itemRepository.findById(id);
     }
@@ -0,0 +1,43 @@
+package com.siemens.internship;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Lifecycle status of an {@link Item}.
+ * In JSON and query parameters it is the constant name; in the database the one-character
+ * {@link #getCode() code}, so the column and idx_item_status_id stay small.
+ */
+public enum ItemStatus {
+    NEW("N"),
+    PROCESSED("P"),
+    DONE("D"),
+    /**
+     * Processing failed on this item alone; it is in the dead-letter table and skipped by
+     * incremental runs until requeued.
+     */
+    FAILED("F");
+
+    private static final Map<String, ItemStatus> BY_CODE = Arrays.stream(values())
+            .collect(Collectors.toMap(ItemStatus::getCode, Function.identity()));
+
+    private final String code;
+
+    ItemStatus(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public static ItemStatus fromCode(String code) {
+        ItemStatus status = BY_CODE.get(code);
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown item status code: " + code);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,21 @@
+package com.siemens.internship;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link ItemStatus} as its one-character code. Applied to every ItemStatus attribute.
+ */
+@Converter(autoApply = true)
+public class ItemStatusConverter implements AttributeConverter<ItemStatus, String> {
+
+    @Override
+    public String convertToDatabaseColumn(ItemStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public ItemStatus convertToEntityAttribute(String code) {
+        return code == null ? null : ItemStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,15 @@
+package com.siemens.internship;
+
+/**
+ * Read-only copy of an item's columns for listing, search and export.
+ *
+ * Queries select the columns straight into this record, so no managed entity, dirty-checking
+ * snapshot or persistence context entry is created per row. Serializes to the same JSON as {@link Item}.
+ */
+public record ItemView(Long id, String name, String description, ItemStatus status, String email, Long version) {
+
+    public static ItemView of(Item item) {
+        return new ItemView(item.getId(), item.getName(), item.getDescription(), item.getStatus(),
+                item.getEmail(), item.getVersion());
+    }
+}
@@ -0,0 +1,36 @@
+package com.siemens.internship;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Last committed position of a running processing job. Rows are removed when a job ends,
+ * so any row left at startup belongs to a run interrupted by a crash or kill. The run's mode is
+ * kept with the position, which only makes sense for a run in the same mode.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProcessingCheckpoint {
+    @Id
+    private String jobId;
+
+    @Column(length = 1)
+    private ItemStatus status;
+    private long lastId;
+    private boolean incremental;
+    private Instant updatedAt;
+
+    public ProcessingPosition position() {
+        return new ProcessingPosition(status, lastId);
+    }
+}
@@ -0,0 +1,204 @@
+package com.siemens.internship;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.core.NestedExceptionUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One background run of the processing engine over all items.
+ *
+ * Progress counters are updated by the workers as chunks commit; the IDs of the first
+ * {@value #MAX_REPORTED_RESULTS} processed items are kept in completion order so results can be read
+ * page by page while the job runs. Failed items are reported with their reason, up to
+ * {@value #MAX_REPORTED_FAILURES} of them. Both caps keep a retained job's footprint bounded
+ * whatever the table size.
+ *
+ * The status and failures are public, so they carry only generic errors and exception types;
+ * the messages stay in the server log.
+ */
+public class ProcessingJob implements ProcessingListener {
+
+    static final int MAX_REPORTED_RESULTS = 10_000;
+    static final int MAX_REPORTED_FAILURES = 1000;
+    static final String CHUNK_FAILED = "Some items could not be processed";
+    static final String JOB_FAILED = "Processing stopped by an internal error";
+
+    public enum State {
+        RUNNING, CANCELLING, COMPLETED, CANCELLED, FAILED;
+
+        boolean isFinished() {
+            return this == COMPLETED || this == CANCELLED || this == FAILED;
+        }
+    }
+
+    private final String id;
+    private final long total;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private long[] processedIds = new long[64];
+    private int processedIdCount;
+    private final List<Failure> failures = new ArrayList<>();
+
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile long finishedNanos;
+    private volatile String error;
+
+    ProcessingJob(String id, long total) {
+        this.id = id;
+        this.total = total;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    @Override
+    public void onChunkProcessed(List<Long> ids) {
+        synchronized (this) {
+            for (Long itemId : ids) {
+                if (processedIdCount == MAX_REPORTED_RESULTS) {
+                    break;
+                }
+                if (processedIdCount == processedIds.length) {
+                    processedIds = Arrays.copyOf(processedIds, Math.min(MAX_REPORTED_RESULTS, processedIds.length * 2));
+                }
+                processedIds[processedIdCount++] = itemId;
+            }
+        }
+        processed.addAndGet(ids.size());
+    }
+
+    @Override
+    public void onChunkFailed(List<Long> ids, Exception ex) {
+        failed.addAndGet(ids.size());
+        error = CHUNK_FAILED;
+        String reason = reasonOf(ex);
+        synchronized (failures) {
+            ids.stream().limit(MAX_REPORTED_FAILURES - failures.size())
+                    .forEach(id -> failures.add(new Failure(id, reason, false)));
+        }
+    }
+
+    @Override
+    public void onItemDeadLettered(Long id, Exception ex) {
+        failed.incrementAndGet();
+        synchronized (failures) {
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(new Failure(id, reasonOf(ex), true));
+            }
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return state == State.CANCELLING;
+    }
+
+    /**
+     * Asks the workers to stop after their current chunk.
+     *
+     * @return false if the job had already finished
+     */
+    synchronized boolean cancel() {
+        if (state != State.RUNNING) {
+            return state == State.CANCELLING;
+        }
+        state = State.CANCELLING;
+        return true;
+    }
+
+    synchronized void finish(Throwable failure) {
+        finishedNanos = System.nanoTime();
+        finishedAt = Instant.now();
+        if (failure != null) {
+            state = State.FAILED;
+            error = JOB_FAILED;
+        } else {
+            state = state == State.CANCELLING ? State.CANCELLED : State.COMPLETED;
+        }
+    }
+
+    /**
+     * Type of the root cause of {@code failure}, without its message.
+     */
+    static String reasonOf(Throwable failure) {
+        return NestedExceptionUtils.getMostSpecificCause(failure).getClass().getSimpleName();
+    }
+
+    /**
+     * IDs of processed items at positions {@code offset .. offset + limit - 1}, in completion order;
+     * only the first {@value #MAX_REPORTED_RESULTS} are kept.
+     */
+    synchronized List<Long> processedIds(int offset, int limit) {
+        if (offset >= processedIdCount) {
+            return List.of();
+        }
+        return Arrays.stream(processedIds, offset, Math.min(processedIdCount, offset + limit)).boxed().toList();
+    }
+
+    /**
+     * Reported failures at positions {@code offset .. offset + limit - 1}, in the order they happened.
+     */
+    List<Failure> failures(int offset, int limit) {
+        synchronized (failures) {
+            if (offset >= failures.size()) {
+                return List.of();
+            }
+            return new ArrayList<>(failures.subList(offset, Math.min(failures.size(), offset + limit)));
+        }
+    }
+
+    /**
+     * IDs of the reported failures that were dead-lettered, in the order they failed.
+     */
+    List<Long> deadLetteredIds() {
+        synchronized (failures) {
+            return failures.stream().filter(Failure::deadLettered).map(Failure::itemId).toList();
+        }
+    }
+
+    public Status status() {
+        long done = processed.get();
+        long elapsedNanos = (state.isFinished() ? finishedNanos : System.nanoTime()) - startNanos;
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        return new Status(id, state, total, done, failed.get(), done / seconds,
+                startedAt, finishedAt, Duration.ofNanos(elapsedNanos), error);
+    }
+
+    /**
+     * Point-in-time view of a job, as returned by {@code GET /api/items/jobs/{id}}.
+     *
+     * @param total          number of items when the job started
+     * @param itemsPerSecond processed items per second since the start
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Status(String id, State state, long total, long processed, long failed, double itemsPerSecond,
+                         Instant startedAt, Instant finishedAt, Duration elapsed, String error) {
+    }
+
+    /**
+     * One failed item of a job, as returned by {@code GET /api/items/jobs/{id}/failures}.
+     *
+     * @param deadLettered true if the item failed on its own and was moved to the dead-letter table;
+     *                     false if it failed with its chunk on a transient error and is still pending
+     */
+    public record Failure(Long itemId, String reason, boolean deadLettered) {
+    }
+}
@@ -0,0 +1,240 @@
+package com.siemens.internship;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs item processing as background jobs that clients poll instead of holding a request open.
+ *
+ * At most {@code items.processing.max-concurrent-jobs} jobs run at once; all of them share the
+ * processing executor. The most recent {@code items.processing.max-retained-jobs} finished jobs
+ * stay queryable. With {@code items.processing.resume-interrupted-jobs} every job keeps a
+ * {@link ProcessingCheckpoint} while it runs, and jobs cut short by a crash resume on the next startup.
+ */
+@Service
+public class ProcessingJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessingJobService.class);
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ProcessingCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private ItemProcessingProperties processingProperties;
+
+    private final Map<String, ProcessingJob> jobs = new ConcurrentHashMap<>();
+
+    private Semaphore runningJobs;
+
+    @PostConstruct
+    void init() {
+        runningJobs = new Semaphore(Math.max(1, processingProperties.getMaxConcurrentJobs()));
+    }
+
+    /**
+     * Starts processing every item in the background.
+     *
+     * @throws RejectedExecutionException if the maximum number of jobs is already running
+     */
+    public ProcessingJob start() {
+        return start(null);
+    }
+
+    private ProcessingJob start(ProcessingPosition resumeFrom) {
+        if (!runningJobs.tryAcquire()) {
+            throw new RejectedExecutionException("Too many processing jobs running");
+        }
+        evictFinishedJobs();
+
+        ProcessingJob job = new ProcessingJob(UUID.randomUUID().toString(), itemsToProcess());
+        jobs.put(job.getId(), job);
+        try {
+            itemService.processAllInChunks(listenerFor(job), resumeFrom).whenComplete((count, ex) -> {
+                if (ex != null) {
+                    log.error("Processing job {} failed", job.getId(), ex);
+                }
+                try {
+                    if (processingProperties.isResumeInterruptedJobs()) {
+                        checkpointRepository.deleteById(job.getId());
+                    }
+                } catch (RuntimeException deleteFailure) {
+                    log.warn("Could not delete the checkpoint of processing job {}", job.getId(), deleteFailure);
+                } finally {
+                    job.finish(ex);
+                    runningJobs.release();
+                }
+            });
+        } catch (RuntimeException ex) {
+            jobs.remove(job.getId());
+            runningJobs.release();
+            throw ex;
+        }
+        return job;
+    }
+
+    /**
+     * Restarts jobs that left a checkpoint behind, i.e. were still running when the application
+     * stopped, from where they got to. A checkpoint written in the other processing mode cannot
+     * be mapped onto this mode's status groups, so that job restarts from the beginning instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        if (!processingProperties.isResumeInterruptedJobs()) {
+            return;
+        }
+        for (ProcessingCheckpoint checkpoint : checkpointRepository.findAll()) {
+            checkpointRepository.delete(checkpoint);
+            try {
+                if (checkpoint.isIncremental() != processingProperties.isIncremental()) {
+                    ProcessingJob job = start(null);
+                    log.info("Restarted interrupted processing job {} as {} from the beginning, it ran in {} mode",
+                            checkpoint.getJobId(), job.getId(), checkpoint.isIncremental() ? "incremental" : "full");
+                    continue;
+                }
+                ProcessingJob job = start(checkpoint.position());
+                log.info("Resumed interrupted processing job {} as {} from {}",
+                        checkpoint.getJobId(), job.getId(), checkpoint.position());
+            } catch (RejectedExecutionException ex) {
+                log.warn("Could not resume interrupted processing job {}: {}", checkpoint.getJobId(), ex.getMessage());
+            }
+        }
+    }
+
+    public Optional<ProcessingJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Requests cancellation; chunks already committed stay processed.
+     *
+     * @return the job, or empty if it is unknown
+     */
+    public Optional<ProcessingJob> cancel(String id) {
+        ProcessingJob job = jobs.get(id);
+        if (job != null) {
+            job.cancel();
+        }
+        return Optional.ofNullable(job);
+    }
+
+    /**
+     * One page of a job's processed items, in the order they were processed.
+     * The items are read fresh, so items deleted since are skipped.
+     *
+     * @param offset position of the first item in the job's results
+     */
+    public CursorPage<ItemView> results(ProcessingJob job, int offset, int limit) {
+        List<Long> ids = job.processedIds(offset, limit + 1);
+        boolean hasNext = ids.size() > limit;
+        List<Long> pageIds = hasNext ? ids.subList(0, limit) : ids;
+
+        Map<Long, ItemView> byId = itemRepository.findViewsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(ItemView::id, Function.identity()));
+        List<ItemView> items = pageIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new CursorPage<>(items, hasNext ? (long) offset + limit : null);
+    }
+
+    /**
+     * One page of a job's failed items with their reasons, in the order they failed.
+     *
+     * @param offset position of the first failure in the job's report
+     */
+    public CursorPage<ProcessingJob.Failure> failures(ProcessingJob job, int offset, int limit) {
+        List<ProcessingJob.Failure> failures = job.failures(offset, limit + 1);
+        boolean hasNext = failures.size() > limit;
+        return new CursorPage<>(hasNext ? failures.subList(0, limit) : failures, hasNext ? (long) offset + limit : null);
+    }
+
+    /**
+     * Requeues the items the job dead-lettered, as far as it reports them; items requeued or
+     * dead-lettered again since are left as they are.
+     *
+     * @return the number of items requeued
+     */
+    public int requeueFailures(ProcessingJob job) {
+        return itemService.requeueDeadLetters(job.deadLetteredIds());
+    }
+
+    /**
+     * The job itself, plus a checkpoint row per committed position when resuming is enabled.
+     */
+    private ProcessingListener listenerFor(ProcessingJob job) {
+        if (!processingProperties.isResumeInterruptedJobs()) {
+            return job;
+        }
+        return new ProcessingListener() {
+            @Override
+            public void onChunkProcessed(List<Long> ids) {
+                job.onChunkProcessed(ids);
+            }
+
+            @Override
+            public void onChunkFailed(List<Long> ids, Exception ex) {
+                job.onChunkFailed(ids, ex);
+            }
+
+            @Override
+            public void onItemDeadLettered(Long id, Exception ex) {
+                job.onItemDeadLettered(id, ex);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return job.isCancelled();
+            }
+
+            @Override
+            public void onCheckpoint(ProcessingPosition position) {
+                checkpointRepository.save(new ProcessingCheckpoint(job.getId(), position.status(),
+                        position.lastId(), processingProperties.isIncremental(), Instant.now()));
+            }
+        };
+    }
+
+    /**
+     * Items a run will pick up: the pending ones (not PROCESSED, and not FAILED, which wait in the
+     * dead-letter table) when processing is incremental, otherwise every item.
+     */
+    private long itemsToProcess() {
+        if (!processingProperties.isIncremental()) {
+            return itemRepository.count();
+        }
+        return itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED).stream()
+                .filter(status -> status != ItemStatus.FAILED)
+                .mapToLong(itemRepository::countByStatus)
+                .sum();
+    }
+
+    private void evictFinishedJobs() {
+        List<ProcessingJob> finished = jobs.values().stream()
+                .filter(job -> job.getState().isFinished())
+                .sorted(Comparator.comparing(ProcessingJob::getStartedAt))
+                .toList();
+        int excess = finished.size() - processingProperties.getMaxRetainedJobs();
+        finished.stream().limit(Math.max(0, excess)).forEach(job -> jobs.remove(job.getId()));
+    }
+}
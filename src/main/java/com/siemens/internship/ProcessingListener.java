@@ -0,0 +1,44 @@
+package com.siemens.internship;
+
+import java.util.List;
+
+/**
+ * Callbacks from the chunked processing engine ({@link ItemService#processAllInChunks}).
+ * Called concurrently from the processing workers.
+ */
+@FunctionalInterface
+public interface ProcessingListener {
+
+    /**
+     * A chunk was committed; {@code ids} are the IDs of its processed items.
+     */
+    void onChunkProcessed(List<Long> ids);
+
+    /**
+     * Items were rolled back after exhausting their retries on a transient error. They stay
+     * pending, so the next run picks them up again.
+     */
+    default void onChunkFailed(List<Long> ids, Exception ex) {
+    }
+
+    /**
+     * An item failed on its own with a non-transient error and was moved to the dead-letter table.
+     */
+    default void onItemDeadLettered(Long id, Exception ex) {
+    }
+
+    /**
+     * Every item up to and including {@code position} has been committed or is not pending.
+     * Passing it back to the engine resumes the run from there. Called in order.
+     */
+    default void onCheckpoint(ProcessingPosition position) {
+    }
+
+    /**
+     * Checked by every worker before it takes the next chunk; returning true stops the run
+     * after the chunks already in flight.
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
@@ -0,0 +1,15 @@
+package com.siemens.internship;
+
+import java.util.Comparator;
+
+/**
+ * Position of the processing cursor, which walks pending items grouped by status
+ * (in {@link ItemStatus} declaration order, null first) and by ID within a status.
+ *
+ * @param status status group of the last committed item; null for items without a status
+ * @param lastId ID of the last committed item in that group
+ */
+public record ProcessingPosition(ItemStatus status, long lastId) {
+
+    static final Comparator<ItemStatus> STATUS_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+}
@@ -0,0 +1,48 @@
+package com.siemens.internship;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket refilled at {@code rate} permits per second and holding at most {@code burst} permits.
+ *
+ * Implemented as the generic cell rate algorithm: the whole state is the time at which the bucket
+ * will be full again, updated by compare-and-set, so acquiring never blocks and takes no lock.
+ */
+final class TokenBucket {
+
+    private final long interval;
+    private final long tolerance;
+    private final LongSupplier clock;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param clock monotonic time in nanoseconds, normally {@link System#nanoTime()}
+     */
+    TokenBucket(double rate, int burst, LongSupplier clock) {
+        this.interval = Math.max(1, (long) (1_000_000_000 / rate));
+        this.tolerance = interval * Math.max(1, burst);
+        this.clock = clock;
+        this.fullAt = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Takes one permit if one is available.
+     *
+     * @return 0 if the permit was taken, otherwise the nanoseconds until one will be available
+     */
+    long tryAcquire() {
+        while (true) {
+            long now = clock.getAsLong();
+            long current = fullAt.get();
+            long next = (current - now < 0 ? now : current) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
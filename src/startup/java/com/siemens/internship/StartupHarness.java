@@ -0,0 +1,170 @@
+package com.siemens.internship;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the extracted application jar repeatedly in each startup configuration and reports
+ * time to first request (process start until GET /api/items answers 200), the startup time Spring
+ * logs, and the resident set size once the first request has been served (Linux only).
+ *
+ * Run by {@code mvn -Pstartup verify}; results are also written to target/startup-result.csv.
+ * Arguments: directory of the extracted jar, jar file name, runs per configuration.
+ */
+public class StartupHarness {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([0-9.]+) seconds");
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private record Configuration(String name, List<String> jvmArgs) {
+    }
+
+    private record Run(long firstRequestMillis, double startedSeconds, long rssKb) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Path.of(args[0]);
+        String jar = args[1];
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        List<Configuration> configurations = new ArrayList<>(List.of(
+                new Configuration("default", List.of()),
+                new Configuration("startup-profile", List.of("-Dspring.profiles.active=startup")),
+                new Configuration("startup-profile+aot",
+                        List.of("-Dspring.profiles.active=startup", "-Dspring.aot.enabled=true"))));
+        if (Files.exists(directory.resolve("application.jsa"))) {
+            configurations.add(new Configuration("startup-profile+aot+cds",
+                    List.of("-Dspring.profiles.active=startup", "-Dspring.aot.enabled=true",
+                            "-XX:SharedArchiveFile=application.jsa")));
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(Path.of("target", "startup-result.csv")))) {
+            csv.println("configuration,run,first_request_ms,started_s,rss_kb");
+            System.out.printf("%-26s %18s %18s %14s%n", "configuration", "first request ms", "started in s", "RSS MB");
+            for (Configuration configuration : configurations) {
+                start(client, directory, jar, configuration); // warms the OS file cache, not measured
+                List<Run> results = new ArrayList<>();
+                for (int i = 0; i < runs; i++) {
+                    Run run = start(client, directory, jar, configuration);
+                    results.add(run);
+                    csv.printf("%s,%d,%d,%.3f,%d%n", configuration.name(), i + 1,
+                            run.firstRequestMillis(), run.startedSeconds(), run.rssKb());
+                }
+                System.out.printf("%-26s %18d %18.3f %14s%n", configuration.name(),
+                        median(results.stream().mapToLong(Run::firstRequestMillis).toArray()),
+                        results.stream().mapToDouble(Run::startedSeconds).sorted().toArray()[runs / 2],
+                        results.get(0).rssKb() < 0 ? "n/a"
+                                : Long.toString(median(results.stream().mapToLong(Run::rssKb).toArray()) / 1024));
+            }
+        }
+    }
+
+    private static Run start(HttpClient client, Path directory, String jar, Configuration configuration)
+            throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(configuration.jvmArgs());
+        command.addAll(List.of("-jar", jar, "--server.port=" + port));
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(directory.toFile()).redirectErrorStream(true).start();
+        try {
+            CompletableFuture<Double> startedSeconds = new CompletableFuture<>();
+            Thread output = new Thread(() -> readStartedSeconds(process, startedSeconds));
+            output.setDaemon(true);
+            output.start();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/items")).build();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(configuration.name() + " exited with " + process.exitValue());
+                }
+                if (System.nanoTime() - started > TIMEOUT.toNanos()) {
+                    throw new IllegalStateException(configuration.name() + " did not answer within " + TIMEOUT);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (ConnectException notListeningYet) {
+                    // fall through and retry
+                }
+                Thread.sleep(5);
+            }
+            long firstRequest = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            long rss = rssKb(process.pid());
+            return new Run(firstRequest, startedSeconds.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS), rss);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Completes {@code result} with the startup time Spring logs, draining the output until the process exits.
+     */
+    private static void readStartedSeconds(Process process, CompletableFuture<Double> result) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (!result.isDone() && matcher.find()) {
+                    result.complete(Double.parseDouble(matcher.group(1)));
+                }
+            }
+        } catch (IOException ex) {
+            // process was stopped
+        }
+        result.complete(Double.NaN);
+    }
+
+    /**
+     * Resident set size from /proc, or -1 where it is not available.
+     */
+    private static long rssKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.replaceAll("\\D", ""))
+                .mapToLong(Long::parseLong)
+                .findFirst()
+                .orElse(-1);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+}
@@ -8,8 +8,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -25,6 +27,9 @@ class GlobalExceptionHandlerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ProcessingJobService processingJobService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -52,6 +57,24 @@ class GlobalExceptionHandlerTest {
                 .andExpect(content().string(""));  // still empty for this path
     }
 
+    @Test
+    void whenProcessingExecutorIsSaturated_thenReturnsServiceUnavailable() throws Exception {
+        when(itemService.processItemsAsync()).thenThrow(new RejectedExecutionException("saturated"));
+
+        mockMvc.perform(get("/api/items/process"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void whenNoConnectionIsAvailable_thenReturnsServiceUnavailable() throws Exception {
+        when(itemService.findById(1L)).thenThrow(new CannotCreateTransactionException("Connection is not available"));
+
+        mockMvc.perform(get("/api/items/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     void whenUnhandledException_thenReturnsInternalServerError() throws Exception {
         ItemService failingService = mock(ItemService.class);
@@ -1,13 +1,67 @@
 package com.siemens.internship;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 class InternshipApplicationTests {
 
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ItemRepository itemRepository;
+
+	@Autowired
+	private RequestMappingHandlerAdapter handlerAdapter;
+
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	private ThreadPoolTaskExecutor applicationTaskExecutor;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void asyncRequestsRunOnBoundedPool() {
+		assertSame(applicationTaskExecutor, ReflectionTestUtils.getField(handlerAdapter, "taskExecutor"));
+		assertEquals(4, applicationTaskExecutor.getMaxPoolSize());
+		assertEquals(100, applicationTaskExecutor.getQueueCapacity());
+	}
+
+	@Test
+	void connectionPoolIsConfiguredAndInstrumented() {
+		HikariDataSource pool = (HikariDataSource) dataSource;
+		assertEquals("items-pool", pool.getPoolName());
+		assertEquals(10, pool.getMaximumPoolSize());
+		// JDBC use outside a Spring transaction must still commit
+		assertTrue(pool.isAutoCommit());
+
+		itemRepository.count();
+
+		assertNotNull(meterRegistry.get("hikaricp.connections.active").tag("pool", "items-pool").gauge());
+		assertNotNull(meterRegistry.get("hikaricp.connections.idle").tag("pool", "items-pool").gauge());
+		assertNotNull(meterRegistry.get("hikaricp.connections.pending").tag("pool", "items-pool").gauge());
+		assertNotNull(meterRegistry.get("hikaricp.connections.timeout").tag("pool", "items-pool").counter());
+		assertTrue(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "items-pool").timer().count() > 0);
+	}
+
 }
@@ -0,0 +1,96 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Shared setup of the JUnit benchmarks on the embedded H2 database: seeding, timing and logging of
+ * the results, and an empty item table after each test. Benchmarks are excluded from the default
+ * build; run them with {@code mvn test -Pbenchmark [-Dbenchmark.rows=N]}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+abstract class ItemBenchmarkSupport {
+
+    protected static final int ROWS = Integer.getInteger("benchmark.rows", 10_000);
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    protected ItemRepository repo;
+
+    @Autowired
+    protected ItemService itemService;
+
+    @Autowired
+    protected TransactionTemplate tx;
+
+    @AfterEach
+    void cleanUp() {
+        repo.deleteAllInBatch();
+    }
+
+    protected static Item newItem(int i) {
+        return new Item(null, "Item" + i, "desc", ItemStatus.NEW, "item" + i + "@bench.com");
+    }
+
+    protected static List<Item> newItems(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(newItem(i));
+        }
+        return items;
+    }
+
+    /**
+     * Inserts {@code count} NEW items in one transaction.
+     */
+    protected void seed(int count) {
+        List<Item> items = newItems(count);
+        tx.executeWithoutResult(status -> repo.saveAll(items));
+    }
+
+    /**
+     * Runs {@code work} once and logs its throughput over {@code rows}.
+     */
+    protected void throughput(String label, int rows, String unit, Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info(String.format("%-24s %8d rows in %7.3f s = %,12.0f %s/sec", label, rows, seconds, rows / seconds, unit));
+    }
+
+    /**
+     * Logs the latency percentiles of {@code reads} calls to {@code read}, after a warm-up,
+     * and returns how many of the timed calls returned true.
+     */
+    protected int latency(String label, int reads, BooleanSupplier read) {
+        for (int i = 0; i < reads / 10; i++) {
+            read.getAsBoolean();
+        }
+        long[] nanos = new long[reads];
+        int found = 0;
+        for (int i = 0; i < reads; i++) {
+            long start = System.nanoTime();
+            boolean present = read.getAsBoolean();
+            nanos[i] = System.nanoTime() - start;
+            if (present) {
+                found++;
+            }
+        }
+        Arrays.sort(nanos);
+        log.info(String.format("%-20s p50 %8.1f us  p99 %8.1f us",
+                label, nanos[reads / 2] / 1e3, nanos[reads * 99 / 100] / 1e3));
+        return found;
+    }
+}
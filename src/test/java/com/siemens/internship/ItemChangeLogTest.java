@@ -0,0 +1,60 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ItemChangeLogTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository repo;
+
+    @Autowired
+    private ItemChangeLog changeLog;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Test
+    void openWriterDoesNotBlockOthersAndFeedFollowsCommitOrder() throws Exception {
+        Long first = repo.save(new Item(null, "First", "d", ItemStatus.NEW, "a@x.com")).getId();
+        Long second = repo.save(new Item(null, "Second", "d", ItemStatus.NEW, "b@x.com")).getId();
+        List<ItemChange> existing = changeLog.read(0, Integer.MAX_VALUE);
+        long since = existing.isEmpty() ? 0 : existing.get(existing.size() - 1).getId();
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> open = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+            itemService.update(first, new Item(null, "First-2", "d", ItemStatus.NEW, "a@x.com"));
+            written.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+
+        // commits while the first writer's transaction is still open
+        CompletableFuture.runAsync(() -> itemService.update(second, new Item(null, "Second-2", "d", ItemStatus.NEW, "b@x.com")))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(second), changeLog.read(since, 10).stream().map(ItemChange::getItemId).toList());
+
+        release.countDown();
+        open.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(second, first), changeLog.read(since, 10).stream().map(ItemChange::getItemId).toList());
+    }
+}
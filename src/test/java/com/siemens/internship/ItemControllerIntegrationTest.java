@@ -7,14 +7,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -32,12 +39,31 @@ class ItemControllerIntegrationTest {
     @Autowired
     private ObjectMapper om;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DeadLetterItemRepository deadLetterRepo;
+
+    @Autowired
+    private ItemChangeRepository changeRepo;
+
+    @Autowired
+    private ItemChangeLog changeLog;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @BeforeEach
     void setUp() {
+        // the fixture bypasses ItemService, so drop anything it cached in earlier tests
+        cacheManager.getCache(ItemService.ITEM_CACHE).clear();
         repo.deleteAll();
+        deadLetterRepo.deleteAll();
+        changeRepo.deleteAll();
         repo.saveAll(List.of(
-                new Item(null, "Alpha", "desc1", "NEW",  "a@x.com"),
-                new Item(null, "Beta",  "desc2", "DONE", "b@y.com")
+                new Item(null, "Alpha", "desc1", ItemStatus.NEW,  "a@x.com"),
+                new Item(null, "Beta",  "desc2", ItemStatus.DONE, "b@y.com")
         ));
     }
 
@@ -48,6 +74,84 @@ class ItemControllerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    void getAllItems_notModifiedUntilAnItemChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/items"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/items").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        // gzip-capable clients get the weak form of the same tag, and either form revalidates
+        mockMvc.perform(get("/api/items").header("Accept-Encoding", "gzip").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/" + etag));
+
+        Item beta = repo.findAll().get(1);
+        beta.setDescription("changed");
+        repo.save(beta);
+        mockMvc.perform(get("/api/items").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$[1].description", is("changed")));
+        // a different page has its own tag
+        mockMvc.perform(get("/api/items").param("limit", "1").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getItemById_notModifiedWhileVersionMatches() throws Exception {
+        Item existing = repo.findAll().get(0);
+        String etag = mockMvc.perform(get("/api/items/{id}", existing.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/items/{id}", existing.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        existing.setDescription("edited");
+        mockMvc.perform(put("/api/items/{id}", existing.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(existing)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/items/{id}", existing.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description", is("edited")));
+    }
+
+    @Test
+    void getAllItems_keysetPages() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/items").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Alpha")))
+                .andExpect(header().exists("Link"))
+                .andReturn();
+        String cursor = first.getResponse().getHeader(ItemController.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/api/items").param("limit", "1").param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Beta")))
+                .andExpect(header().doesNotExist(ItemController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllItems_filteredByStatusDescending() throws Exception {
+        repo.save(new Item(null, "Gamma", "desc3", ItemStatus.NEW, "c@z.com"));
+
+        mockMvc.perform(get("/api/items").param("status", "NEW").param("sort", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name", is("Gamma")))
+                .andExpect(jsonPath("$[1].name", is("Alpha")));
+    }
+
     @Test
     void getItemById_found() throws Exception {
         Long id = repo.findAll().get(0).getId();
@@ -66,7 +170,7 @@ class ItemControllerIntegrationTest {
 
     @Test
     void createItem_valid() throws Exception {
-        Item newItem = new Item(null, "Gamma", "desc3", "NEW", "c@z.com");
+        Item newItem = new Item(null, "Gamma", "desc3", ItemStatus.NEW, "c@z.com");
 
         mockMvc.perform(post("/api/items")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -142,6 +246,37 @@ class ItemControllerIntegrationTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void searchItems_followsCreatesUpdatesAndDeletes() throws Exception {
+        String body = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new Item(null, "Zephyr Lamp", "brass", ItemStatus.NEW, "z@x.com"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Item created = om.readValue(body, Item.class);
+
+        mockMvc.perform(get("/api/items/search").param("q", "zeph"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ItemController.TOTAL_COUNT_HEADER, "1"))
+                .andExpect(jsonPath("$[0].id").value(created.getId()));
+
+        created.setDescription("copper");
+        mockMvc.perform(put("/api/items/{id}", created.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(created)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/items/search").param("q", "zephyr brass"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/items/search").param("q", "zephyr copper"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(delete("/api/items/{id}", created.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/items/search").param("q", "zephyr"))
+                .andExpect(header().string(ItemController.TOTAL_COUNT_HEADER, "0"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
     @Test
     void deleteItem_notFound() throws Exception {
         mockMvc.perform(delete("/api/items/{id}", 999L))
@@ -163,4 +298,322 @@ class ItemControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].id").exists())
                 .andExpect(jsonPath("$[0].status", is("PROCESSED")));
     }
+
+    @Test
+    void processingJob_runsInBackgroundAndPagesResults() throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/items/process"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn();
+        String jobUrl = started.getResponse().getHeader("Location");
+
+        String state = "RUNNING";
+        for (int i = 0; i < 100 && !state.equals("COMPLETED"); i++) {
+            Thread.sleep(50);
+            MvcResult poll = mockMvc.perform(get(jobUrl)).andExpect(status().isOk()).andReturn();
+            state = om.readTree(poll.getResponse().getContentAsString()).get("state").asText();
+        }
+        assertEquals("COMPLETED", state);
+
+        mockMvc.perform(get(jobUrl))
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.processed", is(2)))
+                .andExpect(jsonPath("$.failed", is(0)));
+        mockMvc.perform(get(jobUrl + "/items").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].status", is("PROCESSED")))
+                .andExpect(header().string(ItemController.NEXT_CURSOR_HEADER, "1"));
+    }
+
+    @Test
+    void deadLetteredItemIsSkippedUntilRequeued() throws Exception {
+        Item poison = repo.save(new Item(null, "Poison", "desc3", ItemStatus.FAILED, "p@z.com"));
+        DeadLetterItem entry = new DeadLetterItem(poison.getId());
+        entry.recordFailure(new IllegalStateException("cannot process"));
+        deadLetterRepo.save(entry);
+
+        mockMvc.perform(get("/api/items/dead-letters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].itemId", is(poison.getId().intValue())))
+                .andExpect(jsonPath("$[0].reason", is("IllegalStateException: cannot process")))
+                .andExpect(jsonPath("$[0].failures", is(1)));
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/items/process")).andReturn()))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].name", not(hasItem("Poison"))));
+
+        mockMvc.perform(post("/api/items/dead-letters/{itemId}/requeue", poison.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/items/dead-letters/{itemId}/requeue", poison.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/items/process")).andReturn()))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Poison")));
+    }
+
+    @Test
+    void processItems_secondRunOnlyPicksUpNewOrChangedItems() throws Exception {
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/items/process")).andReturn()))
+                .andExpect(jsonPath("$", hasSize(2)));
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/items/process")).andReturn()))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        Item added = repo.save(new Item(null, "Gamma", "desc3", ItemStatus.NEW, "c@z.com"));
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/items/process")).andReturn()))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(added.getId().intValue())));
+    }
+
+    @Test
+    void createItemsBatch_reportsPartialFailure() throws Exception {
+        List<Map<String, Object>> payload = List.of(
+                Map.of("name", "Gamma", "description", "d", "status", "NEW", "email", "g@z.com"),
+                Map.of("name", "X", "description", "d", "status", "NEW", "email", "invalid"),
+                Map.of("name", "Delta", "description", "d", "status", "NEW", "email", "d@z.com")
+        );
+
+        mockMvc.perform(post("/api/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(payload)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].errors.email", is("Invalid email format")))
+                .andExpect(jsonPath("$[2].index").value(2))
+                .andExpect(jsonPath("$[2].status").value(201));
+
+        mockMvc.perform(get("/api/items"))
+                .andExpect(jsonPath("$", hasSize(4)));
+    }
+
+    @Test
+    void createItemsBatch_ndjsonStream() throws Exception {
+        String body = """
+                {"name":"Gamma","description":"d","status":"NEW","email":"g@z.com"}
+                not json
+                {"name":"Delta","description":"d","status":"NEW","email":"d@z.com"}
+                """;
+
+        mockMvc.perform(post("/api/items/batch")
+                        .contentType(ItemController.APPLICATION_NDJSON_VALUE)
+                        .content(body))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].errors.error", startsWith("Malformed JSON")))
+                .andExpect(jsonPath("$[2].status").value(201));
+    }
+
+    @Test
+    void updateItemsBatch_updatesExistingAndReportsMissing() throws Exception {
+        Item existing = repo.findAll().get(0);
+        existing.setName("Alpha-Batch");
+        Item missing = new Item(999_999L, "Ghost", "d", ItemStatus.NEW, "g@z.com");
+
+        mockMvc.perform(put("/api/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(List.of(existing, missing))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].errors.error", is("Item not found")));
+
+        mockMvc.perform(get("/api/items/{id}", existing.getId()))
+                .andExpect(jsonPath("$.name", is("Alpha-Batch")));
+    }
+
+    @Test
+    void changes_feedRecordsEveryWriteInCommitOrder() throws Exception {
+        String body = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new Item(null, "Gamma", "desc3", ItemStatus.NEW, "g@x.com"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Item created = om.readValue(body, Item.class);
+        created.setDescription("edited");
+        mockMvc.perform(put("/api/items/{id}", created.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(created)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/items/{id}", created.getId()))
+                .andExpect(status().isNoContent());
+
+        String cursor = mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/items/changes")).andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].itemId", everyItem(is(created.getId().intValue()))))
+                .andExpect(jsonPath("$[*].type", contains("CREATED", "UPDATED", "DELETED")))
+                .andExpect(jsonPath("$[1].description", is("edited")))
+                .andExpect(jsonPath("$[1].version", is(1)))
+                .andExpect(jsonPath("$[2].name").doesNotExist())
+                .andReturn().getResponse().getHeader(ItemController.NEXT_CURSOR_HEADER);
+
+        // processing reports its status transitions; a consumer resumes from its cursor
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/items/process")).andReturn()))
+                .andExpect(status().isOk());
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/items/changes").param("since", cursor)).andReturn()))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].name", contains("Alpha", "Beta")))
+                .andExpect(jsonPath("$[*].status", everyItem(is("PROCESSED"))));
+    }
+
+    @Test
+    void changes_longPollCompletesWhenAWriteCommits() throws Exception {
+        MvcResult poll = mockMvc.perform(get("/api/items/changes").param("wait", "30"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(delete("/api/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(repo.findAllIds())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].type", everyItem(is("DELETED"))));
+    }
+
+    @Test
+    void changes_rolledBackWritesAreNotRecorded() throws Exception {
+        Long id = repo.findAllIds().get(0);
+        transactionTemplate.executeWithoutResult(status -> {
+            changeLog.recordItems(List.of(id), ItemChange.Type.UPDATED);
+            status.setRollbackOnly();
+        });
+
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/items/changes")).andReturn()))
+                .andExpect(jsonPath("$", hasSize(0)))
+                .andExpect(header().string(ItemController.NEXT_CURSOR_HEADER, "0"));
+    }
+
+    @Test
+    void deleteItemsBatch_allDeleted() throws Exception {
+        List<Long> ids = repo.findAllIds();
+
+        mockMvc.perform(delete("/api/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].status", everyItem(is(204))));
+
+        mockMvc.perform(get("/api/items"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void exportItems_streamsNdjson() throws Exception {
+        MvcResult mvc = mockMvc.perform(get("/api/items/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvc))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("Alpha", om.readValue(lines.get(0), Item.class).getName());
+        assertEquals("Beta", om.readValue(lines.get(1), Item.class).getName());
+    }
+
+    @Test
+    void exportItems_gzipWhenAccepted() throws Exception {
+        MvcResult mvc = mockMvc.perform(get("/api/items/export").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] compressed = mockMvc.perform(asyncDispatch(mvc))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(2, body.lines().count());
+        }
+    }
+
+    @Test
+    void exportItems_plainWhenGzipRefused() throws Exception {
+        MvcResult mvc = mockMvc.perform(get("/api/items/export").header("Accept-Encoding", "gzip;q=0, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvc))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"));
+    }
+
+    @Test
+    void getItemById_servedFromCacheAndInvalidatedByWrites() throws Exception {
+        Item existing = repo.findAll().get(0);
+        mockMvc.perform(get("/api/items/{id}", existing.getId()))
+                .andExpect(jsonPath("$.name", is("Alpha")));
+        assertNotNull(cacheManager.getCache(ItemService.ITEM_CACHE).get(existing.getId()));
+
+        existing.setName("Alpha-Updated");
+        mockMvc.perform(put("/api/items/{id}", existing.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(existing)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/items/{id}", existing.getId()))
+                .andExpect(jsonPath("$.name", is("Alpha-Updated")));
+
+        MvcResult mvc = mockMvc.perform(get("/api/items/process")).andReturn();
+        mockMvc.perform(asyncDispatch(mvc)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/items/{id}", existing.getId()))
+                .andExpect(jsonPath("$.status", is("PROCESSED")));
+
+        mockMvc.perform(delete("/api/items/{id}", existing.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/items/{id}", existing.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void updateItem_ifMatchDetectsConcurrentModification() throws Exception {
+        Item existing = repo.findAll().get(0);
+        String etag = mockMvc.perform(get("/api/items/{id}", existing.getId()))
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // a processing run changes the item behind the client's back
+        MvcResult mvc = mockMvc.perform(get("/api/items/process")).andReturn();
+        mockMvc.perform(asyncDispatch(mvc)).andExpect(status().isOk());
+
+        existing.setDescription("edited");
+        mockMvc.perform(put("/api/items/{id}", existing.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(existing)))
+                .andExpect(status().isPreconditionFailed());
+
+        String fresh = mockMvc.perform(get("/api/items/{id}", existing.getId()))
+                .andExpect(jsonPath("$.status", is("PROCESSED")))
+                .andReturn().getResponse().getHeader("ETag");
+        existing.setStatus(ItemStatus.PROCESSED);
+        mockMvc.perform(put("/api/items/{id}", existing.getId())
+                        .header("If-Match", fresh)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(existing)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.description", is("edited")));
+    }
+
+    @Test
+    void updateItem_ifMatchOnMissingItemIsNotFound() throws Exception {
+        Map<String, Object> payload = Map.of("name", "ZZ", "description", "z", "status", "NEW", "email", "z@z.com");
+
+        mockMvc.perform(put("/api/items/{id}", 999_999L)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(payload)))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -5,13 +5,25 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -25,25 +37,49 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ProcessingJobService processingJobService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @Test
     void testGetAllItems_returnsList() throws Exception {
-        List<Item> items = List.of(
-                new Item(1L, "Test", "Desc", "NEW", "test@mail.com")
+        List<ItemView> items = List.of(
+                new ItemView(1L, "Test", "Desc", ItemStatus.NEW, "test@mail.com", 0L)
         );
-        when(itemService.findAll()).thenReturn(items);
+        when(itemService.findPage(null, ItemController.DEFAULT_PAGE_SIZE, null, Sort.Direction.ASC))
+                .thenReturn(new CursorPage<>(items, null));
 
         mockMvc.perform(get("/api/items"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].name").value("Test"));
+                .andExpect(jsonPath("$[0].name").value("Test"))
+                .andExpect(header().doesNotExist(ItemController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testGetAllItems_nextPageLinkAndClampedLimit() throws Exception {
+        List<ItemView> items = List.of(new ItemView(5L, "Test", "Desc", ItemStatus.NEW, "test@mail.com", 0L));
+        when(itemService.findPage(4L, ItemController.MAX_PAGE_SIZE, ItemStatus.NEW, Sort.Direction.DESC))
+                .thenReturn(new CursorPage<>(items, 5L));
+
+        mockMvc.perform(get("/api/items?after=4&limit=100000&status=NEW&sort=desc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ItemController.NEXT_CURSOR_HEADER, "5"))
+                .andExpect(header().string("Link", containsString("after=5")));
+    }
+
+    @Test
+    void testGetAllItems_invalidSort() throws Exception {
+        mockMvc.perform(get("/api/items?sort=sideways"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.sort").exists());
     }
 
     @Test
     void testGetItemById_found() throws Exception {
-        Item item = new Item(1L, "Found", "Desc", "NEW", "found@mail.com");
+        Item item = new Item(1L, "Found", "Desc", ItemStatus.NEW, "found@mail.com");
         when(itemService.findById(1L)).thenReturn(Optional.of(item));
 
         mockMvc.perform(get("/api/items/1"))
@@ -63,8 +99,8 @@ class ItemControllerTest {
 
     @Test
     void testCreateItem_valid() throws Exception {
-        Item input = new Item(null, "New", "Desc", "NEW", "new@mail.com");
-        Item saved = new Item(42L, "New", "Desc", "NEW", "new@mail.com");
+        Item input = new Item(null, "New", "Desc", ItemStatus.NEW, "new@mail.com");
+        Item saved = new Item(42L, "New", "Desc", ItemStatus.NEW, "new@mail.com");
         when(itemService.save(any(Item.class))).thenReturn(saved);
 
         mockMvc.perform(post("/api/items")
@@ -75,9 +111,22 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.name").value("New"));
     }
 
+    @Test
+    void testCreateItem_ignoresClientIdAndVersion() throws Exception {
+        Item saved = new Item(42L, "New", "Desc", ItemStatus.NEW, "new@mail.com");
+        when(itemService.save(any(Item.class))).thenReturn(saved);
+
+        mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Item(7L, "New", "Desc", ItemStatus.NEW, "new@mail.com", 3L))))
+                .andExpect(status().isCreated());
+
+        verify(itemService).save(argThat(item -> item.getId() == null && item.getVersion() == null));
+    }
+
     @Test
     void testCreateItem_invalidEmail() throws Exception {
-        Item bad = new Item(null, "Bad", "Desc", "NEW", "not-an-email");
+        Item bad = new Item(null, "Bad", "Desc", ItemStatus.NEW, "not-an-email");
 
         mockMvc.perform(post("/api/items")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -85,4 +134,167 @@ class ItemControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.email").value("Invalid email format"));
     }
+
+    @Test
+    void testCreateItemsBatch_invalidElementsNeverReachService() throws Exception {
+        Item good = new Item(null, "Good", "Desc", ItemStatus.NEW, "good@mail.com");
+        Item bad = new Item(null, "Bad", "Desc", ItemStatus.NEW, "not-an-email");
+        when(itemService.createAll(anyList())).thenAnswer(inv -> {
+            List<Item> valid = inv.getArgument(0);
+            assertEquals(1, valid.size());
+            return List.of(BatchItemResult.success(0, 7L, HttpStatus.CREATED));
+        });
+
+        mockMvc.perform(post("/api/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(bad, good))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].errors.email").value("Invalid email format"))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].id").value(7));
+    }
+
+    @Test
+    void testUpdateItem_singleServiceCall() throws Exception {
+        Item input = new Item(null, "Upd", "Desc", ItemStatus.NEW, "upd@mail.com");
+        when(itemService.update(eq(3L), any(Item.class), isNull()))
+                .thenReturn(Optional.of(new Item(3L, "Upd", "Desc", ItemStatus.NEW, "upd@mail.com")));
+
+        mockMvc.perform(put("/api/items/3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(input)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(3));
+        verify(itemService, never()).findById(any());
+    }
+
+    @Test
+    void testDeleteItem_notFoundFromRowCount() throws Exception {
+        when(itemService.delete(8L)).thenReturn(false);
+
+        mockMvc.perform(delete("/api/items/8"))
+                .andExpect(status().isNotFound());
+        verify(itemService, never()).findById(any());
+    }
+
+    @Test
+    void testUnknownStatus_rejectedAsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/items?status=ARCHIVED"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").exists());
+
+        mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Test\",\"status\":\"ARCHIVED\",\"email\":\"test@mail.com\"}"))
+                .andExpect(status().isBadRequest());
+        verify(itemService, never()).save(any());
+    }
+
+    @Test
+    void testStartProcessing_acceptedWithJobLocation() throws Exception {
+        when(processingJobService.start()).thenReturn(new ProcessingJob("job-1", 10));
+
+        mockMvc.perform(post("/api/items/process"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString("/api/items/jobs/job-1")))
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.total").value(10));
+    }
+
+    @Test
+    void testGetJobItems_pagesResults() throws Exception {
+        ProcessingJob job = new ProcessingJob("job-1", 10);
+        when(processingJobService.find("job-1")).thenReturn(Optional.of(job));
+        when(processingJobService.results(job, 2, 1))
+                .thenReturn(new CursorPage<>(List.of(new ItemView(3L, "Test", "Desc", ItemStatus.PROCESSED, "test@mail.com", 1L)), 3L));
+
+        mockMvc.perform(get("/api/items/jobs/job-1/items?offset=2&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(header().string(ItemController.NEXT_CURSOR_HEADER, "3"));
+    }
+
+    @Test
+    void testGetJobFailures_pagesReport() throws Exception {
+        ProcessingJob job = new ProcessingJob("job-1", 10);
+        when(processingJobService.find("job-1")).thenReturn(Optional.of(job));
+        when(processingJobService.failures(job, 0, ItemController.DEFAULT_PAGE_SIZE))
+                .thenReturn(new CursorPage<>(List.of(new ProcessingJob.Failure(3L, "QueryTimeoutException", false)), null));
+
+        mockMvc.perform(get("/api/items/jobs/job-1/failures"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].itemId").value(3))
+                .andExpect(jsonPath("$[0].reason").value("QueryTimeoutException"))
+                .andExpect(jsonPath("$[0].deadLettered").value(false))
+                .andExpect(header().doesNotExist(ItemController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testRequeueJobFailures_reportsCount() throws Exception {
+        ProcessingJob job = new ProcessingJob("job-1", 10);
+        when(processingJobService.find("job-1")).thenReturn(Optional.of(job));
+        when(processingJobService.requeueFailures(job)).thenReturn(2);
+
+        mockMvc.perform(post("/api/items/jobs/job-1/failures/requeue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requeued").value(2));
+    }
+
+    @Test
+    void testRequeueDeadLetter_unknownItem() throws Exception {
+        when(itemService.requeueDeadLetter(9L)).thenReturn(false);
+
+        mockMvc.perform(post("/api/items/dead-letters/9/requeue"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testJobEndpoints_unknownJob() throws Exception {
+        when(processingJobService.find("nope")).thenReturn(Optional.empty());
+        when(processingJobService.cancel("nope")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/items/jobs/nope")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/items/jobs/nope/items")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/items/jobs/nope/failures")).andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/items/jobs/nope/failures/requeue")).andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/items/jobs/nope")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testSearchItems_ranksAndPages() throws Exception {
+        ItemView item = new ItemView(3L, "Laptop Pro", "Desc", ItemStatus.NEW, "lap@mail.com", 0L);
+        when(itemService.search("lap pro", 20, ItemController.MAX_PAGE_SIZE))
+                .thenReturn(new ItemSearchPage(List.of(item), 1500, 1020L));
+
+        mockMvc.perform(get("/api/items/search?q=lap pro&offset=20&limit=5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Laptop Pro"))
+                .andExpect(header().string(ItemController.TOTAL_COUNT_HEADER, "1500"))
+                .andExpect(header().string(ItemController.NEXT_CURSOR_HEADER, "1020"));
+    }
+
+    @Test
+    void testSearchItems_queryWithoutWordsRejected() throws Exception {
+        mockMvc.perform(get("/api/items/search").param("q", " - "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.q").exists());
+        mockMvc.perform(get("/api/items/search"))
+                .andExpect(status().isBadRequest());
+        verify(itemService, never()).search(any(), eq(0), eq(ItemController.DEFAULT_PAGE_SIZE));
+    }
+
+    @Test
+    void testAcceptsGzip_honoursQualityValues() {
+        assertTrue(ItemController.acceptsGzip("gzip, deflate"));
+        assertTrue(ItemController.acceptsGzip("deflate, gzip;q=0.5"));
+        assertTrue(ItemController.acceptsGzip("*"));
+        assertFalse(ItemController.acceptsGzip(null));
+        assertFalse(ItemController.acceptsGzip("deflate, br"));
+        assertFalse(ItemController.acceptsGzip("gzip;q=0"));
+        assertFalse(ItemController.acceptsGzip("gzip; q=0.0, deflate"));
+        assertFalse(ItemController.acceptsGzip("*;q=0"));
+        assertFalse(ItemController.acceptsGzip("*, gzip;q=0"));
+        assertTrue(ItemController.acceptsGzip("*;q=0, gzip"));
+    }
 }
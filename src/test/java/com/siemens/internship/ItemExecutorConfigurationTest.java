@@ -0,0 +1,127 @@
+package com.siemens.internship;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemExecutorConfigurationTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void fixedModeIsBoundedAndCountsRejections() throws Exception {
+        ItemProcessingProperties properties = new ItemProcessingProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor)
+                new ItemExecutorConfiguration().itemProcessingExecutor(properties, 10, registry);
+        executor.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            executor.execute(() -> await(release)); // queued
+            assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+
+            assertEquals(1, executor.getMaxPoolSize());
+            assertEquals(1.0, registry.get("items.executor.rejected").counter().count());
+            assertEquals(1.0, registry.get("items.executor.queued").gauge().value());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertEquals(2, registry.get("items.executor.run").timer().count());
+        assertEquals(0.0, registry.get("items.executor.queued").gauge().value());
+    }
+
+    @Test
+    void fixedModeThreadsAreCappedAtConnectionsNotReservedForRequests() {
+        ItemProcessingProperties properties = new ItemProcessingProperties();
+        properties.setThreads(16);
+        properties.setReservedConnections(2);
+        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor)
+                new ItemExecutorConfiguration().itemProcessingExecutor(properties, 5, registry);
+
+        assertEquals(3, executor.getMaxPoolSize());
+        assertEquals(1, ItemExecutorConfiguration.processingConnections(properties, 2));
+    }
+
+    @Test
+    void fixedModeDefaultsToProcessorsWithinConnectionBudget() {
+        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor)
+                new ItemExecutorConfiguration().itemProcessingExecutor(new ItemProcessingProperties(), 5, registry);
+
+        assertEquals(Math.min(Runtime.getRuntime().availableProcessors(), 3), executor.getMaxPoolSize());
+    }
+
+    @Test
+    void callerRunsPolicyRunsRejectedTaskOnSubmitter() {
+        ItemProcessingProperties properties = new ItemProcessingProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setRejectionPolicy(ItemProcessingProperties.RejectionPolicy.CALLER_RUNS);
+        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor)
+                new ItemExecutorConfiguration().itemProcessingExecutor(properties, 10, registry);
+        executor.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(() -> await(release));
+            Thread[] ranOn = new Thread[1];
+            executor.execute(() -> ranOn[0] = Thread.currentThread());
+
+            assertSame(Thread.currentThread(), ranOn[0]);
+            assertEquals(1.0, registry.get("items.executor.rejected").counter().count());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void limitConcurrencyNeverRunsMoreThanItsPermits() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        TaskExecutorAdapter executor = new TaskExecutorAdapter(pool);
+        executor.setTaskDecorator(ItemExecutorConfiguration.limitConcurrency(2));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertEquals(2, peak.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures inserts/sec on the embedded H2 database, one item per transaction (POST /api/items)
+ * and batched in a single transaction. The ID allocation size can be varied with
+ * {@code -Dspring.jpa.properties.items.id.allocation_size=N}.
+ */
+class ItemInsertBenchmarkTest extends ItemBenchmarkSupport {
+
+    @Test
+    void singleInsertPerTransaction() {
+        throughput("single insert per tx", ROWS, "inserts", () -> {
+            for (int i = 0; i < ROWS; i++) {
+                repo.save(newItem(i));
+            }
+        });
+        assertEquals(ROWS, repo.count());
+    }
+
+    @Test
+    void batchedInsertInOneTransaction() {
+        List<Item> items = newItems(ROWS);
+        throughput("batched insert", ROWS, "inserts", () -> tx.executeWithoutResult(status -> repo.saveAll(items)));
+        assertEquals(ROWS, repo.count());
+    }
+}
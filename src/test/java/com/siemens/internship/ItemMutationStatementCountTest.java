@@ -0,0 +1,60 @@
+package com.siemens.internship;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that a single-item update or delete is one UPDATE/DELETE statement (no SELECT first),
+ * followed by the change feed lock and one INSERT into the feed only if a row was affected.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ItemMutationStatementCountTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository repo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        repo.deleteAll();
+        id = repo.save(new Item(null, "Alpha", "desc", ItemStatus.NEW, "a@x.com")).getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void updateIsOneStatementPlusFeedEntry() {
+        assertTrue(itemService.update(id, new Item(null, "Alpha-2", "desc", ItemStatus.NEW, "a@x.com")).isPresent());
+        // UPDATE + change feed lock + change feed INSERT
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateOfMissingItemIsOneStatementWithoutFeedEntry() {
+        assertTrue(itemService.update(Long.MAX_VALUE, new Item(null, "Ghost", "d", ItemStatus.NEW, "g@x.com")).isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deleteIsOneStatementPlusFeedEntry() {
+        assertTrue(itemService.delete(id));
+        assertFalse(itemService.delete(id));
+        // DELETE + change feed lock + change feed INSERT, then a DELETE that affects no row and records nothing
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+}
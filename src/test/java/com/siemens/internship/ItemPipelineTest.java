@@ -0,0 +1,114 @@
+package com.siemens.internship;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.annotation.Order;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemPipelineTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ItemProcessingProperties properties = new ItemProcessingProperties();
+
+    @Test
+    void keepsIdOrderWithinPartitionAndRunsPartitionsInParallel() throws Exception {
+        properties.setPipelineParallelism(2);
+        Map<String, List<Long>> seen = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch bothPartitionsRunning = new CountDownLatch(2);
+        ItemProcessor record = item -> {
+            String domain = item.getEmail().substring(item.getEmail().indexOf('@') + 1).toLowerCase();
+            if (seen.putIfAbsent(domain, Collections.synchronizedList(new ArrayList<>())) == null) {
+                bothPartitionsRunning.countDown();
+                await(bothPartitionsRunning); // only passes if the other partition runs at the same time
+            }
+            seen.get(domain).add(item.getId());
+            threads.add(Thread.currentThread().getName());
+        };
+        ItemPipeline pipeline = pipeline(record);
+
+        pipeline.process(List.of(item(5, "e@b.com"), item(2, "c@a.com"), item(1, "a@a.com"),
+                item(4, "d@A.com"), item(3, "b@b.com")));
+
+        assertEquals(Map.of("a.com", List.of(1L, 2L, 4L), "b.com", List.of(3L, 5L)), seen);
+        assertEquals(2, threads.size());
+        pipeline.destroy();
+    }
+
+    @Test
+    void runsStagesInOrderAndTimesEach() {
+        List<String> calls = new ArrayList<>();
+        ItemPipeline pipeline = pipeline(new Validate(calls), new Enrich(calls));
+
+        pipeline.process(List.of(item(1, "a@a.com")));
+
+        assertEquals(List.of("enrich", "validate"), calls);
+        assertEquals(1, registry.get("items.processing.stage").tag("stage", "Enrich").timer().count());
+        assertEquals(1, registry.get("items.processing.stage").tag("stage", "Validate").timer().count());
+        pipeline.destroy();
+    }
+
+    @Test
+    void rethrowsStageFailureWithOtherPartitionsSuppressed() {
+        ItemPipeline pipeline = pipeline(item -> {
+            throw new IllegalArgumentException("bad " + item.getId());
+        });
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> pipeline.process(List.of(item(1, "a@a.com"), item(2, "b@b.com"))));
+
+        assertEquals("bad 1", ex.getMessage());
+        assertEquals(1, ex.getSuppressed().length);
+        pipeline.destroy();
+    }
+
+    @Order(2)
+    private record Validate(List<String> calls) implements ItemProcessor {
+        @Override
+        public void process(Item item) {
+            calls.add("validate");
+        }
+    }
+
+    @Order(1)
+    private record Enrich(List<String> calls) implements ItemProcessor {
+        @Override
+        public void process(Item item) {
+            calls.add("enrich");
+        }
+    }
+
+    private ItemPipeline pipeline(ItemProcessor... stages) {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.setDependencyComparator(AnnotationAwareOrderComparator.INSTANCE);
+        for (int i = 0; i < stages.length; i++) {
+            beans.registerSingleton("stage" + i, stages[i]);
+        }
+        return new ItemPipeline(beans.getBeanProvider(ItemProcessor.class), properties, new ItemProcessingMetrics(registry));
+    }
+
+    private static Item item(long id, String email) {
+        return new Item(id, "Item" + id, "desc", ItemStatus.NEW, email);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.siemens.internship;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemRateLimitFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(42);
+
+    @Test
+    void tokenBucketAdmitsBurstThenRefillsAtRate() {
+        TokenBucket bucket = new TokenBucket(10, 5, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire());
+        }
+        assertEquals(SECOND / 10, bucket.tryAcquire());
+
+        clock.addAndGet(SECOND / 10);
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+
+        clock.addAndGet(10 * SECOND); // refills to the burst, no further
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire());
+        }
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    void tokenBucketNeverOverAdmitsUnderContention() throws Exception {
+        TokenBucket bucket = new TokenBucket(1, 1000, clock::get);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < 4; t++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 1000; i++) {
+                        if (bucket.tryAcquire() == 0) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1000, admitted.get());
+    }
+
+    @Test
+    void concurrencyLimitGrowsWhenUsedAndBacksOffOnSlowRequests() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(2, 1, 3, 0.5, SECOND);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.release(1, false);
+        limit.release(1, false);
+        assertEquals(2, limit.limit()); // 2.5: only the release at full use grows it
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.release(1, false);
+            limit.release(1, false);
+        }
+        assertEquals(3, limit.limit()); // capped at the maximum
+
+        assertTrue(limit.tryAcquire());
+        limit.release(2 * SECOND, false);
+        assertEquals(1, limit.limit()); // 3 * 0.5
+        assertTrue(limit.tryAcquire());
+        limit.release(1, true);
+        assertEquals(1, limit.limit()); // floored at the minimum
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void rejectsClientOverItsRateWith429AndRetryAfter() throws Exception {
+        ItemRateLimitProperties properties = new ItemRateLimitProperties();
+        properties.setClientRate(0.5);
+        properties.setClientBurst(2);
+        properties.setClientHeader("X-Api-Key");
+        ItemRateLimitFilter filter = new ItemRateLimitFilter(properties);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+
+        assertEquals(200, perform(filter, "a").getStatus());
+        assertEquals(200, perform(filter, "a").getStatus());
+        MockHttpServletResponse rejected = perform(filter, "a");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+        assertEquals(200, perform(filter, "b").getStatus());
+
+        assertEquals(1.0, registry.get("items.requests.rejected").tag("reason", "client").functionCounter().count());
+        assertEquals(0.0, registry.get("items.requests.in.flight").gauge().value());
+    }
+
+    @Test
+    void rejectsOverConcurrencyLimitWith503AndReleasesAsyncRequests() throws Exception {
+        ItemRateLimitProperties properties = new ItemRateLimitProperties();
+        properties.setInitialConcurrency(1);
+        properties.setMinConcurrency(1);
+        properties.setMaxConcurrency(1);
+        properties.setLatencyThreshold(Duration.ofHours(1));
+        ItemRateLimitFilter filter = new ItemRateLimitFilter(properties);
+
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+        filter.doFilter(request("a"), new MockHttpServletResponse(),
+                (req, res) -> filter.doFilter(request("b"), nested, new MockFilterChain()));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), nested.getStatus());
+        assertEquals("1", nested.getHeader("Retry-After"));
+
+        MockHttpServletRequest async = request("a");
+        async.setAsyncSupported(true);
+        filter.doFilter(async, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        assertEquals(200, perform(filter, "a").getStatus());
+    }
+
+    @Test
+    void slowBatchRequestsDoNotShrinkConcurrencyLimit() throws Exception {
+        ItemRateLimitProperties properties = new ItemRateLimitProperties();
+        properties.setInitialConcurrency(10);
+        properties.setLatencyThreshold(Duration.ofNanos(1));
+        ItemRateLimitFilter filter = new ItemRateLimitFilter(properties);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/items/batch"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        assertEquals(10.0, registry.get("items.requests.concurrency.limit").gauge().value());
+
+        MockHttpServletRequest overloaded = new MockHttpServletRequest("PUT", "/api/items/batch");
+        filter.doFilter(overloaded, new MockHttpServletResponse(),
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(HttpStatus.SERVICE_UNAVAILABLE.value()));
+        assertEquals(9.0, registry.get("items.requests.concurrency.limit").gauge().value());
+
+        perform(filter, "a");
+        assertEquals(8.0, registry.get("items.requests.concurrency.limit").gauge().value());
+        assertEquals(0.0, registry.get("items.requests.in.flight").gauge().value());
+    }
+
+    @Test
+    void ignoresPathsOutsideItemsApi() throws Exception {
+        ItemRateLimitProperties properties = new ItemRateLimitProperties();
+        properties.setClientRate(0.001);
+        properties.setClientBurst(1);
+        ItemRateLimitFilter filter = new ItemRateLimitFilter(properties);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    private static MockHttpServletResponse perform(ItemRateLimitFilter filter, String client) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(client), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+        request.addHeader("X-Api-Key", client);
+        return request;
+    }
+}
@@ -0,0 +1,22 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares findById latency through the item cache with a direct repository lookup.
+ */
+class ItemReadCacheBenchmarkTest extends ItemBenchmarkSupport {
+
+    private static final int READS = 100_000;
+
+    @Test
+    void hotItemLatency() {
+        long id = itemService.save(new Item(null, "Hot", "desc", ItemStatus.NEW, "hot@bench.com")).getId();
+
+        assertEquals(READS, latency("repository findById", READS, () -> repo.findById(id).isPresent()));
+        assertEquals(READS, latency("cached findById", READS, () -> itemService.findById(id).isPresent()));
+        assertEquals(1, repo.count());
+    }
+}
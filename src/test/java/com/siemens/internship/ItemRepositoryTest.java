@@ -1,11 +1,20 @@
 package com.siemens.internship;
 
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,10 +24,16 @@ class ItemRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     void testSaveAndFindById() {
         // save a single item and verify you can fetch it by ID
-        Item item = new Item(null, "RepoTest", "Desc", "NEW", "repo@test.com");
+        Item item = new Item(null, "RepoTest", "Desc", ItemStatus.NEW, "repo@test.com");
         Item saved = itemRepository.save(item);
 
         Optional<Item> fetched = itemRepository.findById(saved.getId());
@@ -29,12 +44,123 @@ class ItemRepositoryTest {
     @Test
     void testFindAllIds() {
         // save a couple of items, then verify the custom findAllIds query
-        Item a = itemRepository.save(new Item(null, "One", "d1", "NEW", "one@test.com"));
-        Item b = itemRepository.save(new Item(null, "Two", "d2", "NEW", "two@test.com"));
+        Item a = itemRepository.save(new Item(null, "One", "d1", ItemStatus.NEW, "one@test.com"));
+        Item b = itemRepository.save(new Item(null, "Two", "d2", ItemStatus.NEW, "two@test.com"));
 
         List<Long> ids = itemRepository.findAllIds();
         assertTrue(ids.contains(a.getId()));
         assertTrue(ids.contains(b.getId()));
         assertEquals(2, ids.size(), "Should return exactly two IDs");
     }
+
+    @Test
+    void testFindIdsAfter_returnsAscendingKeysetPages() {
+        Item a = itemRepository.save(new Item(null, "One", "d1", ItemStatus.NEW, "one@test.com"));
+        Item b = itemRepository.save(new Item(null, "Two", "d2", ItemStatus.NEW, "two@test.com"));
+        Item c = itemRepository.save(new Item(null, "Three", "d3", ItemStatus.NEW, "three@test.com"));
+
+        List<Long> first = itemRepository.findIdsAfter(Long.MIN_VALUE, PageRequest.ofSize(2));
+        assertEquals(List.of(a.getId(), b.getId()), first);
+
+        List<Long> second = itemRepository.findIdsAfter(first.get(1), PageRequest.ofSize(2));
+        assertEquals(List.of(c.getId()), second, "Second page should start after the last seen ID");
+    }
+
+    @Test
+    void testPendingStatusGroupQueries() {
+        Item a = itemRepository.save(new Item(null, "One", "d1", ItemStatus.NEW, "one@test.com"));
+        itemRepository.save(new Item(null, "Two", "d2", ItemStatus.PROCESSED, "two@test.com"));
+        Item c = itemRepository.save(new Item(null, "Three", "d3", null, "three@test.com"));
+        Item d = itemRepository.save(new Item(null, "Four", "d4", ItemStatus.NEW, "four@test.com"));
+
+        assertEquals(Arrays.asList(null, ItemStatus.NEW), itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED));
+        assertEquals(List.of(a.getId()), itemRepository.findIdsByStatusAfter(ItemStatus.NEW, Long.MIN_VALUE, PageRequest.ofSize(1)));
+        assertEquals(List.of(d.getId()), itemRepository.findIdsByStatusAfter(ItemStatus.NEW, a.getId(), PageRequest.ofSize(5)));
+        assertEquals(List.of(c.getId()), itemRepository.findIdsWithoutStatusAfter(Long.MIN_VALUE, PageRequest.ofSize(5)));
+    }
+
+    @Test
+    void testDerivedStatusAndEmailQueries() {
+        Item a = itemRepository.save(new Item(null, "One", "d1", ItemStatus.NEW, "shared@test.com"));
+        Item b = itemRepository.save(new Item(null, "Two", "d2", ItemStatus.DONE, "shared@test.com"));
+        Item c = itemRepository.save(new Item(null, "Three", "d3", ItemStatus.NEW, "three@test.com"));
+
+        assertEquals(List.of(a, c), itemRepository.findByStatus(ItemStatus.NEW));
+        assertEquals(2, itemRepository.countByStatus(ItemStatus.NEW));
+        assertEquals(0, itemRepository.countByStatus(ItemStatus.PROCESSED));
+        assertEquals(List.of(a, b), itemRepository.findByEmail("shared@test.com"));
+    }
+
+    @Test
+    void testStatusStoredAsOneCharacterCode() {
+        Item a = itemRepository.save(new Item(null, "One", "d1", ItemStatus.PROCESSED, "one@test.com"));
+        itemRepository.flush();
+
+        assertEquals("P", jdbc.queryForObject("SELECT status FROM item WHERE id = ?", String.class, a.getId()));
+        assertEquals(1, jdbc.queryForObject("SELECT character_maximum_length FROM information_schema.columns "
+                + "WHERE table_name = 'ITEM' AND column_name = 'STATUS'", Integer.class));
+    }
+
+    @Test
+    void testStatusAndEmailLookupsUseIndexes() {
+        // H2 names the index it picks in the plan; without idx_item_email the email lookup is a tableScan
+        String byStatus = jdbc.queryForObject("EXPLAIN SELECT * FROM item WHERE status = 'N'", String.class);
+        String countByStatus = jdbc.queryForObject("EXPLAIN SELECT COUNT(*) FROM item WHERE status = 'N'", String.class);
+        String byEmail = jdbc.queryForObject("EXPLAIN SELECT * FROM item WHERE email = 'a@b.com'", String.class);
+
+        assertTrue(byStatus.contains("IDX_ITEM_STATUS_ID"), byStatus);
+        assertTrue(countByStatus.contains("IDX_ITEM_STATUS_ID"), countByStatus);
+        assertTrue(byEmail.contains("IDX_ITEM_EMAIL"), byEmail);
+        assertFalse(byEmail.contains("tableScan"), byEmail);
+    }
+
+    @Test
+    void testUpdateStatusByIdsAndRange() {
+        Item a = itemRepository.save(new Item(null, "One", "d1", ItemStatus.NEW, "one@test.com"));
+        Item b = itemRepository.save(new Item(null, "Two", "d2", ItemStatus.NEW, "two@test.com"));
+        Item c = itemRepository.save(new Item(null, "Three", "d3", ItemStatus.NEW, "three@test.com"));
+
+        long versionBefore = a.getVersion();
+        assertEquals(1, itemRepository.updateStatusByIds(List.of(a.getId()), ItemStatus.PROCESSED));
+        Item reloaded = itemRepository.findById(a.getId()).orElseThrow();
+        assertEquals(ItemStatus.PROCESSED, reloaded.getStatus());
+        assertEquals(versionBefore + 1, reloaded.getVersion(), "Bulk update should bump the version");
+        assertEquals(ItemStatus.NEW, itemRepository.findById(b.getId()).orElseThrow().getStatus());
+
+        assertEquals(2, itemRepository.updateStatusByIdRange(b.getId(), c.getId(), ItemStatus.DONE));
+        assertEquals(ItemStatus.DONE, itemRepository.findById(b.getId()).orElseThrow().getStatus());
+        assertEquals(ItemStatus.DONE, itemRepository.findById(c.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testKeysetPageQueries() {
+        Item a = itemRepository.save(new Item(null, "One", "d1", ItemStatus.NEW, "one@test.com"));
+        Item b = itemRepository.save(new Item(null, "Two", "d2", ItemStatus.DONE, "two@test.com"));
+        Item c = itemRepository.save(new Item(null, "Three", "d3", ItemStatus.NEW, "three@test.com"));
+
+        ItemView viewA = ItemView.of(a);
+        ItemView viewB = ItemView.of(b);
+        ItemView viewC = ItemView.of(c);
+
+        assertEquals(List.of(viewB, viewC), itemRepository.findByIdGreaterThanOrderByIdAsc(a.getId(), Limit.of(5)));
+        assertEquals(List.of(viewB, viewA), itemRepository.findByIdLessThanOrderByIdDesc(c.getId(), Limit.of(5)));
+        assertEquals(List.of(viewC), itemRepository.findByStatusAndIdGreaterThanOrderByIdAsc(ItemStatus.NEW, a.getId(), Limit.of(5)));
+        assertEquals(List.of(viewA), itemRepository.findByStatusAndIdLessThanOrderByIdDesc(ItemStatus.NEW, c.getId(), Limit.of(1)));
+    }
+
+    @Test
+    void testViewQueriesLeavePersistenceContextEmpty() {
+        Item a = itemRepository.save(new Item(null, "One", "d1", ItemStatus.NEW, "one@test.com"));
+        Item b = itemRepository.save(new Item(null, "Two", "d2", ItemStatus.DONE, "two@test.com"));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ItemView> views = itemRepository.findViewsByIdIn(List.of(b.getId(), a.getId(), -1L));
+        assertEquals(Set.of(ItemView.of(a), ItemView.of(b)), Set.copyOf(views));
+        try (Stream<ItemView> all = itemRepository.streamAll(10)) {
+            assertEquals(List.of(ItemView.of(a), ItemView.of(b)), all.toList());
+        }
+        PersistenceContext context = entityManager.getEntityManager().unwrap(SessionImplementor.class).getPersistenceContext();
+        assertEquals(0, context.getNumberOfManagedEntities());
+    }
 }
@@ -0,0 +1,88 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        index.index(new ItemSearchIndex.Document(1L, "Laptop Pro", "Fast laptop for developers"));
+        index.index(new ItemSearchIndex.Document(2L, "Desk Lamp", "LED lamp, fits any laptop desk"));
+        index.index(new ItemSearchIndex.Document(3L, "Laptop Stand", "Aluminium stand"));
+        index.index(new ItemSearchIndex.Document(4L, "Keyboard", "Mechanical keyboard"));
+    }
+
+    @Test
+    void tokenizeSplitsOnNonWordCharactersAndLowerCases() {
+        assertEquals(List.of("usb", "c", "hub", "4k", "ünïcode"),
+                ItemSearchIndex.tokenize("USB-C  hub (4K), Ünïcode!").toList());
+        assertEquals(List.of(), ItemSearchIndex.tokenize(" -- ").toList());
+        assertEquals(List.of(), ItemSearchIndex.tokenize(null).toList());
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        ItemSearchIndex.Result result = index.search("laptop", 0, 10);
+
+        assertEquals(3, result.total());
+        // item 1 mentions laptop in name and description, item 3 in its name, item 2 only in its description
+        assertEquals(List.of(1L, 3L, 2L), result.ids());
+    }
+
+    @Test
+    void everyWordMustMatch() {
+        assertEquals(List.of(1L), index.search("laptop fast", 0, 10).ids());
+        assertEquals(List.of(), index.search("laptop mouse", 0, 10).ids());
+    }
+
+    @Test
+    void matchesWordPrefixesBelowWholeWords() {
+        assertEquals(List.of(2L), index.search("lam", 0, 10).ids());
+        assertEquals(List.of(3L), index.search("lap sta", 0, 10).ids());
+
+        index.index(new ItemSearchIndex.Document(5L, "Desk", "desktop organiser"));
+        // item 2 has "desk" in its name and description; item 5 only in its name, plus the prefix match "desktop"
+        assertEquals(List.of(2L, 5L), index.search("desk", 0, 10).ids());
+        index.index(new ItemSearchIndex.Document(6L, "Desktop", "desktop"));
+        assertEquals(List.of(2L, 5L, 6L), index.search("desk", 0, 10).ids());
+    }
+
+    @Test
+    void paginatesRankedResults() {
+        ItemSearchIndex.Result page = index.search("laptop", 1, 1);
+
+        assertEquals(List.of(3L), page.ids());
+        assertEquals(3, page.total());
+        assertEquals(List.of(), index.search("laptop", 3, 10).ids());
+    }
+
+    @Test
+    void reindexingReplacesOldTermsAndRemoveDropsItem() {
+        index.index(new ItemSearchIndex.Document(3L, "Monitor Stand", "Aluminium stand"));
+
+        assertEquals(List.of(1L, 2L), index.search("laptop", 0, 10).ids());
+        assertEquals(List.of(3L), index.search("monitor", 0, 10).ids());
+
+        index.remove(3L);
+        index.remove(42L);
+
+        assertEquals(List.of(), index.search("monitor", 0, 10).ids());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void queryWithoutWordsMatchesNothing() {
+        ItemSearchIndex.Result result = index.search("?!", 0, 10);
+
+        assertEquals(List.of(), result.ids());
+        assertEquals(0, result.total());
+    }
+}
@@ -1,13 +1,39 @@
 package com.siemens.internship;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class ItemServiceTest {
@@ -15,25 +41,61 @@ class ItemServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ItemSearchIndex searchIndex;
+
+    @Mock
+    private DeadLetterItemRepository deadLetterRepository;
+
+    @Mock
+    private ItemChangeLog changeLog;
+
+    @Spy
+    private ItemProcessingProperties processingProperties = new ItemProcessingProperties();
+
+    @Spy
+    private ItemExportProperties exportProperties = new ItemExportProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ItemService itemService;
 
     @BeforeEach
     void openMocks() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(itemService, "executor", Executors.newFixedThreadPool(2));
+        ReflectionTestUtils.setField(itemService, "processingMetrics", new ItemProcessingMetrics(meterRegistry));
+        ReflectionTestUtils.setField(itemService, "pipeline", pipeline());
+        // run transaction callbacks inline
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        // every item of a bulk update exists unless a test says otherwise
+        when(itemRepository.updateStatusByIds(anyCollection(), any())).thenAnswer(inv ->
+                inv.<Collection<Long>>getArgument(0).size());
     }
 
     @Test
     void testProcessItemsAsync_successfullyProcessesAllItems() throws Exception {
         // prepare two real items
-        Item item1 = new Item(1L, "Item1", "desc", "NEW", "a@b.com");
-        Item item2 = new Item(2L, "Item2", "desc", "NEW", "b@b.com");
-        List<Item> toProcess = List.of(item1, item2);
+        Item item1 = new Item(1L, "Item1", "desc", ItemStatus.NEW, "a@b.com");
+        Item item2 = new Item(2L, "Item2", "desc", ItemStatus.NEW, "b@b.com");
 
-        // stub repository behavior
-        when(itemRepository.findAll()).thenReturn(toProcess);
-        // echo back the saved item
-        when(itemRepository.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
+        // stub repository behavior: one short keyset page, updated in bulk and read back
+        when(itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED)).thenReturn(List.of(ItemStatus.NEW));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), anyLong(), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(itemRepository.updateStatusByIds(List.of(1L, 2L), ItemStatus.PROCESSED)).thenAnswer(inv -> {
+            item1.setStatus(ItemStatus.PROCESSED);
+            item2.setStatus(ItemStatus.PROCESSED);
+            return 2;
+        });
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(item1, item2));
 
         // invoke the async processing
         CompletableFuture<List<Item>> future = itemService.processItemsAsync();
@@ -44,9 +106,505 @@ class ItemServiceTest {
         assertEquals(2, processed.size(), "Should process exactly 2 items");
         // each returned item must have status set to PROCESSED
         processed.forEach(it ->
-                assertEquals("PROCESSED", it.getStatus(), "Each item should be marked PROCESSED")
+                assertEquals(ItemStatus.PROCESSED, it.getStatus(), "Each item should be marked PROCESSED")
         );
-        // verify save was called twice
-        verify(itemRepository, times(2)).save(any(Item.class));
+        // the whole chunk is committed in one transaction, without a save per item
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(itemRepository, times(1)).updateStatusByIds(List.of(1L, 2L), ItemStatus.PROCESSED);
+        verify(itemRepository, never()).save(any(Item.class));
+        verify(itemRepository, never()).findAll();
+    }
+
+    @Test
+    void testProcessAllInChunks_pagesByKeysetAndSkipsFailedChunk() throws Exception {
+        processingProperties.setChunkSize(2);
+        processingProperties.setMaxInFlightChunks(1);
+        processingProperties.setRetryBackoff(Duration.ofMillis(1));
+
+        when(itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED)).thenReturn(List.of(ItemStatus.NEW));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), eq(2L), any(Pageable.class))).thenReturn(List.of(3L, 4L));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), eq(4L), any(Pageable.class))).thenReturn(List.of(5L));
+        when(itemRepository.updateStatusByIds(List.of(3L, 4L), ItemStatus.PROCESSED)).thenThrow(new QueryTimeoutException("Boom"));
+
+        List<List<Long>> chunks = Collections.synchronizedList(new ArrayList<>());
+        long count = itemService.processAllInChunks(chunks::add).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, count, "Failed chunk should not be counted");
+        assertEquals(List.of(List.of(1L, 2L), List.of(5L)), chunks);
+        // the IDs are all the listener needs, so nothing is read back
+        verify(itemRepository, never()).findAllById(any());
+        assertEquals(3.0, meterRegistry.get("items.processing.items").tag("outcome", "processed").counter().count());
+        assertEquals(2.0, meterRegistry.get("items.processing.items").tag("outcome", "failed").counter().count());
+        assertEquals(3, meterRegistry.get("items.processing.chunk").timer().count());
+        assertEquals(5.0, meterRegistry.get("items.processing.chunk.items").summary().totalAmount());
+        assertTrue(meterRegistry.get("items.processing.throughput").gauge().value() > 0);
+        // a transient error is retried, then the chunk stays pending instead of being dead-lettered
+        verify(itemRepository, times(3)).updateStatusByIds(List.of(3L, 4L), ItemStatus.PROCESSED);
+        assertEquals(2.0, meterRegistry.get("items.processing.retries").counter().count());
+        verify(deadLetterRepository, never()).save(any());
+        // last page was short, so the cursor stops without another query
+        verify(itemRepository, times(3)).findIdsByStatusAfter(eq(ItemStatus.NEW), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void testProcessAllInChunks_incrementalWalksOnlyPendingStatusGroups() throws Exception {
+        processingProperties.setChunkSize(2);
+        processingProperties.setMaxInFlightChunks(1);
+        when(itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED)).thenReturn(Arrays.asList(null, ItemStatus.NEW));
+        when(itemRepository.findIdsWithoutStatusAfter(eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(List.of(7L));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(List.of(2L, 9L));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), eq(9L), any(Pageable.class))).thenReturn(List.of());
+
+        List<Long> processedIds = Collections.synchronizedList(new ArrayList<>());
+        List<ProcessingPosition> checkpoints = new ArrayList<>();
+        long count = itemService.processAllInChunks(new ProcessingListener() {
+            @Override
+            public void onChunkProcessed(List<Long> ids) {
+                processedIds.addAll(ids);
+            }
+
+            @Override
+            public void onCheckpoint(ProcessingPosition position) {
+                checkpoints.add(position);
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, count);
+        assertEquals(List.of(7L, 2L, 9L), processedIds);
+        assertEquals(List.of(new ProcessingPosition(null, 7L), new ProcessingPosition(ItemStatus.NEW, 9L)), checkpoints);
+        verify(itemRepository, never()).findIdsAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void testProcessAllInChunks_resumesAfterCheckpointAndFailedChunkHoldsItBack() throws Exception {
+        processingProperties.setChunkSize(1);
+        processingProperties.setMaxInFlightChunks(1);
+        processingProperties.setRetryBackoff(Duration.ofMillis(1));
+        // unordered on purpose: the cursor walks groups in declaration order, null first
+        when(itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED)).thenReturn(Arrays.asList(ItemStatus.DONE, ItemStatus.NEW, null));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), eq(4L), any(Pageable.class))).thenReturn(List.of(6L));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), eq(6L), any(Pageable.class))).thenReturn(List.of());
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.DONE), eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(List.of(1L));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.DONE), eq(1L), any(Pageable.class))).thenReturn(List.of());
+        when(itemRepository.updateStatusByIds(List.of(6L), ItemStatus.PROCESSED)).thenThrow(new QueryTimeoutException("Boom"));
+
+        List<ProcessingPosition> checkpoints = new ArrayList<>();
+        long count = itemService.processAllInChunks(new ProcessingListener() {
+            @Override
+            public void onChunkProcessed(List<Long> ids) {
+            }
+
+            @Override
+            public void onCheckpoint(ProcessingPosition position) {
+                checkpoints.add(position);
+            }
+        }, new ProcessingPosition(ItemStatus.NEW, 4L)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, count);
+        // the null group sorts before the checkpoint, so it is skipped entirely
+        verify(itemRepository, never()).findIdsWithoutStatusAfter(anyLong(), any(Pageable.class));
+        // chunk 6 failed transiently, so the checkpoint may not move past it even though chunk 1 committed
+        assertEquals(List.of(), checkpoints);
+    }
+
+    @Test
+    void testProcessAllInChunks_nonIncrementalWalksWholeTable() throws Exception {
+        processingProperties.setIncremental(false);
+        when(itemRepository.findIdsAfter(eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(List.of(1L));
+
+        assertEquals(1, itemService.processAllInChunks(chunk -> { }).get(5, TimeUnit.SECONDS));
+        verify(itemRepository, never()).findStatusesOtherThan(any());
+    }
+
+    @Test
+    void testProcessAllInChunks_continuesWithFewerWorkersWhenExecutorIsSaturated() throws Exception {
+        processingProperties.setChunkSize(2);
+        processingProperties.setMaxInFlightChunks(3);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        AtomicInteger submitted = new AtomicInteger();
+        ReflectionTestUtils.setField(itemService, "executor", (Executor) task -> {
+            if (submitted.incrementAndGet() > 1) {
+                throw new RejectedExecutionException("saturated");
+            }
+            pool.execute(task);
+        });
+
+        when(itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED)).thenReturn(List.of(ItemStatus.NEW));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(List.of(1L));
+
+        assertEquals(1, itemService.processAllInChunks(chunk -> { }).get(5, TimeUnit.SECONDS));
+        pool.shutdown();
+    }
+
+    @Test
+    void testProcessAllInChunks_rejectedFirstWorkerPropagates() {
+        ReflectionTestUtils.setField(itemService, "executor", (Executor) task -> {
+            throw new RejectedExecutionException("saturated");
+        });
+
+        assertThrows(RejectedExecutionException.class, () -> itemService.processAllInChunks(chunk -> { }));
+    }
+
+    @Test
+    void testUpdateStatus_emptyIdsSkipsQuery() {
+        assertEquals(0, itemService.updateStatus(List.of(), ItemStatus.PROCESSED));
+        verify(itemRepository, never()).updateStatusByIds(any(), any());
+    }
+
+    @Test
+    void testUpdateStatusInRange_delegatesToRangeUpdate() {
+        when(itemRepository.updateStatusByIdRange(10L, 20L, ItemStatus.PROCESSED)).thenReturn(11);
+
+        assertEquals(11, itemService.updateStatusInRange(10L, 20L, ItemStatus.PROCESSED));
+    }
+
+    @Test
+    void testCreateAll_commitsOneTransactionPerChunk() {
+        processingProperties.setChunkSize(2);
+        List<Item> items = List.of(
+                new Item(7L, "A", "d", ItemStatus.NEW, "a@b.com"),
+                new Item(null, "B", "d", ItemStatus.NEW, "b@b.com"),
+                new Item(null, "C", "d", ItemStatus.NEW, "c@b.com"));
+        long[] nextId = {100};
+        when(itemRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Item> chunk = inv.getArgument(0);
+            chunk.forEach(item -> item.setId(nextId[0]++));
+            return chunk;
+        });
+
+        List<BatchItemResult> results = itemService.createAll(items);
+
+        assertEquals(List.of(0, 1, 2), results.stream().map(BatchItemResult::index).toList());
+        assertEquals(List.of(100L, 101L, 102L), results.stream().map(BatchItemResult::id).toList());
+        assertTrue(results.stream().allMatch(r -> r.status() == 201));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void testUpdateAll_appliesChangesAndReportsMissing() {
+        Item stored = new Item(1L, "Old", "d", ItemStatus.NEW, "old@b.com");
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(stored));
+
+        List<BatchItemResult> results = itemService.updateAll(List.of(
+                new Item(1L, "New", "d2", ItemStatus.DONE, "new@b.com"),
+                new Item(2L, "Missing", "d", ItemStatus.NEW, "m@b.com")));
+
+        assertEquals(200, results.get(0).status());
+        assertEquals(404, results.get(1).status());
+        assertEquals("New", stored.getName());
+        assertEquals("new@b.com", stored.getEmail());
+        verify(itemRepository, never()).save(any(Item.class));
+        verify(searchIndex).index(stored);
+    }
+
+    @Test
+    void testSave_recordsWhetherItInsertedOrUpdated() {
+        Item fresh = new Item(null, "A", "d", ItemStatus.NEW, "a@b.com");
+        Item overwrite = new Item(5L, "B", "d", ItemStatus.NEW, "b@b.com");
+        when(itemRepository.save(fresh)).thenReturn(new Item(4L, "A", "d", ItemStatus.NEW, "a@b.com"));
+        when(itemRepository.existsById(5L)).thenReturn(true);
+        when(itemRepository.save(overwrite)).thenReturn(overwrite);
+
+        itemService.save(fresh);
+        itemService.save(overwrite);
+
+        verify(changeLog).recordItems(List.of(4L), ItemChange.Type.CREATED);
+        verify(changeLog).recordItems(List.of(5L), ItemChange.Type.UPDATED);
+    }
+
+    @Test
+    void testDeleteAll_deletesExistingInOneStatement() {
+        when(itemRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        List<BatchItemResult> results = itemService.deleteAll(List.of(1L, 2L));
+
+        assertEquals(204, results.get(0).status());
+        assertEquals(404, results.get(1).status());
+        verify(itemRepository).deleteAllByIdInBatch(Set.of(1L));
+        verify(searchIndex).remove(1L);
+        verify(searchIndex, never()).remove(2L);
+    }
+
+    @Test
+    void testWriteInChunks_failedChunkReportsEveryElement() {
+        when(itemRepository.saveAll(anyList())).thenThrow(new RuntimeException("Boom"));
+
+        List<BatchItemResult> results = itemService.createAll(List.of(
+                new Item(null, "A", "d", ItemStatus.NEW, "a@b.com"),
+                new Item(null, "B", "d", ItemStatus.NEW, "b@b.com")));
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(r -> r.status() == 500));
+        assertTrue(results.stream().allMatch(r -> r.errors().equals(Map.of("error", "Batch chunk failed"))));
+    }
+
+    @Test
+    void testFindPage_fetchesOneExtraRowForNextCursor() {
+        ItemView item1 = new ItemView(1L, "Item1", "desc", ItemStatus.NEW, "a@b.com", 0L);
+        ItemView item2 = new ItemView(2L, "Item2", "desc", ItemStatus.NEW, "b@b.com", 0L);
+        ItemView item3 = new ItemView(3L, "Item3", "desc", ItemStatus.NEW, "c@b.com", 0L);
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(3)))
+                .thenReturn(List.of(item1, item2, item3));
+        when(itemRepository.findByStatusAndIdLessThanOrderByIdDesc(ItemStatus.NEW, 3L, Limit.of(3)))
+                .thenReturn(List.of(item2, item1));
+
+        CursorPage<ItemView> first = itemService.findPage(null, 2, null, Sort.Direction.ASC);
+        assertEquals(List.of(item1, item2), first.items());
+        assertEquals(2L, first.nextCursor());
+
+        CursorPage<ItemView> last = itemService.findPage(3L, 2, ItemStatus.NEW, Sort.Direction.DESC);
+        assertEquals(List.of(item2, item1), last.items());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void testExportAll_streamsViewsWithConfiguredFetchSize() {
+        exportProperties.setFetchSize(50);
+        List<ItemView> items = List.of(
+                new ItemView(1L, "A", "d", ItemStatus.NEW, "a@b.com", 0L),
+                new ItemView(2L, "B", "d", ItemStatus.NEW, "b@b.com", 0L),
+                new ItemView(3L, "C", "d", ItemStatus.NEW, "c@b.com", 0L));
+        when(itemRepository.streamAll(50)).thenReturn(items.stream());
+
+        List<ItemView> exported = new ArrayList<>();
+        long count = itemService.exportAll(exported::add);
+
+        assertEquals(3, count);
+        assertEquals(items, exported);
+    }
+
+    @Test
+    void testUpdateStatus_evictsUpdatedIdsFromCache() {
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache(ItemService.ITEM_CACHE)).thenReturn(cache);
+        when(itemRepository.updateStatusByIds(List.of(1L, 2L), ItemStatus.DONE)).thenReturn(2);
+
+        itemService.updateStatus(List.of(1L, 2L), ItemStatus.DONE);
+
+        // no transaction is active here, so the decorator evicts immediately
+        verify(cache).evict(1L);
+        verify(cache).evict(2L);
+    }
+
+    @Test
+    void testProcessAllInChunks_retriesChunkOnOptimisticConflict() throws Exception {
+        processingProperties.setRetryBackoff(Duration.ofMillis(1));
+        when(itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED)).thenReturn(List.of(ItemStatus.NEW));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), anyLong(), any(Pageable.class))).thenReturn(List.of(1L));
+        when(itemRepository.updateStatusByIds(List.of(1L), ItemStatus.PROCESSED))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 1L))
+                .thenReturn(1);
+
+        long count = itemService.processAllInChunks(chunk -> { }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, count);
+        verify(itemRepository, times(2)).updateStatusByIds(List.of(1L), ItemStatus.PROCESSED);
+    }
+
+    @Test
+    void testUpdate_staleVersionOfExistingItemThrows() {
+        Item input = new Item(null, "Name", "d", ItemStatus.NEW, "a@b.com");
+        when(itemRepository.updateByIdAndVersion(1L, 4L, "Name", "d", ItemStatus.NEW, "a@b.com")).thenReturn(0);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> itemService.update(1L, input, 4L));
+    }
+
+    @Test
+    void testUpdate_matchingVersionReturnsNextVersion() {
+        Item input = new Item(null, "Name", "d", ItemStatus.NEW, "a@b.com");
+        when(itemRepository.updateByIdAndVersion(1L, 4L, "Name", "d", ItemStatus.NEW, "a@b.com")).thenReturn(1);
+
+        Item updated = itemService.update(1L, input, 4L).orElseThrow();
+
+        assertEquals(5L, updated.getVersion());
+        verify(itemRepository, never()).existsById(any());
+    }
+
+    @Test
+    void testSearch_loadsPageInRankOrderAndSkipsDeletedItems() {
+        Item item3 = new Item(3L, "Laptop Pro", "d", ItemStatus.NEW, "c@b.com");
+        Item item9 = new Item(9L, "Laptop", "d", ItemStatus.NEW, "i@b.com");
+        when(searchIndex.search("laptop", 2, 3)).thenReturn(new ItemSearchIndex.Result(List.of(9L, 4L, 3L), 10));
+        when(itemRepository.findViewsByIdIn(List.of(9L, 4L, 3L))).thenReturn(List.of(ItemView.of(item3), ItemView.of(item9)));
+
+        ItemSearchPage page = itemService.search("laptop", 2, 3);
+
+        assertEquals(List.of(ItemView.of(item9), ItemView.of(item3)), page.items());
+        assertEquals(10, page.total());
+        assertEquals(5L, page.nextOffset());
+    }
+
+    @Test
+    void testProcessAllInChunks_isolatesPoisonItemIntoDeadLetterTable() throws Exception {
+        processingProperties.setChunkSize(4);
+        processingProperties.setMaxInFlightChunks(1);
+        when(itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED)).thenReturn(List.of(ItemStatus.NEW, ItemStatus.FAILED));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(itemRepository.updateStatusByIds(anyCollection(), eq(ItemStatus.PROCESSED))).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            if (ids.contains(3L)) {
+                throw new DataIntegrityViolationException("item 3 is broken");
+            }
+            return ids.size();
+        });
+
+        List<Long> deadLettered = new ArrayList<>();
+        List<ProcessingPosition> checkpoints = new ArrayList<>();
+        long count = itemService.processAllInChunks(new ProcessingListener() {
+            @Override
+            public void onChunkProcessed(List<Long> ids) {
+            }
+
+            @Override
+            public void onItemDeadLettered(Long id, Exception ex) {
+                deadLettered.add(id);
+            }
+
+            @Override
+            public void onCheckpoint(ProcessingPosition position) {
+                checkpoints.add(position);
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, count, "Items next to the poison item are still processed");
+        assertEquals(List.of(3L), deadLettered);
+        ArgumentCaptor<DeadLetterItem> entry = ArgumentCaptor.forClass(DeadLetterItem.class);
+        verify(deadLetterRepository).save(entry.capture());
+        assertEquals(3L, entry.getValue().getItemId());
+        assertEquals(1, entry.getValue().getFailures());
+        assertEquals("DataIntegrityViolationException: item 3 is broken", entry.getValue().getReason());
+        verify(itemRepository).updateStatusByIds(List.of(3L), ItemStatus.FAILED);
+        // the chunk is resolved, so the checkpoint moves past it; FAILED items are never fetched
+        assertEquals(List.of(new ProcessingPosition(ItemStatus.NEW, 4L)), checkpoints);
+        verify(itemRepository, never()).findIdsByStatusAfter(eq(ItemStatus.FAILED), anyLong(), any(Pageable.class));
+        assertEquals(1.0, meterRegistry.get("items.processing.items").tag("outcome", "dead_lettered").counter().count());
+    }
+
+    @Test
+    void testProcessAllInChunks_systematicFailureStopsRunWithoutDeadLettering() throws Exception {
+        processingProperties.setChunkSize(4);
+        processingProperties.setMaxInFlightChunks(1);
+        when(itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED)).thenReturn(List.of(ItemStatus.NEW));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(itemRepository.updateStatusByIds(anyCollection(), eq(ItemStatus.PROCESSED)))
+                .thenThrow(new DataIntegrityViolationException("column STATUS not found"));
+
+        List<Long> failed = new ArrayList<>();
+        CompletableFuture<Long> run = itemService.processAllInChunks(new ProcessingListener() {
+            @Override
+            public void onChunkProcessed(List<Long> ids) {
+            }
+
+            @Override
+            public void onChunkFailed(List<Long> ids, Exception ex) {
+                failed.addAll(ids);
+            }
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> run.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertEquals(List.of(1L, 2L, 3L, 4L), failed.stream().sorted().toList());
+        verify(deadLetterRepository, never()).save(any());
+        verify(itemRepository, never()).updateStatusByIds(anyCollection(), eq(ItemStatus.FAILED));
+        // the cursor is not asked for another chunk once the run is stopped
+        verify(itemRepository, times(1)).findIdsByStatusAfter(eq(ItemStatus.NEW), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void testRequeueDeadLetters_requeuesOnlyDeadLetteredItemsInOneTransaction() {
+        DeadLetterItem entry = new DeadLetterItem(3L);
+        when(deadLetterRepository.findAllById(List.of(3L, 4L))).thenReturn(List.of(entry));
+
+        assertEquals(1, itemService.requeueDeadLetters(List.of(3L, 4L)));
+
+        verify(deadLetterRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(itemRepository).updateStatusByIds(List.of(3L), ItemStatus.NEW);
+        verify(changeLog).recordItems(List.of(3L), ItemChange.Type.UPDATED);
+    }
+
+    @Test
+    void testRequeueDeadLetter_setsItemBackToNew() {
+        when(deadLetterRepository.existsById(3L)).thenReturn(true);
+
+        assertTrue(itemService.requeueDeadLetter(3L));
+        assertFalse(itemService.requeueDeadLetter(4L));
+
+        verify(deadLetterRepository).deleteById(3L);
+        verify(itemRepository).updateStatusByIds(List.of(3L), ItemStatus.NEW);
+        verify(itemRepository, never()).updateStatusByIds(List.of(4L), ItemStatus.NEW);
+    }
+
+    @Test
+    void testProcessAllInChunks_runsProcessorStagesAndDeadLettersItemsTheyReject() throws Exception {
+        processingProperties.setChunkSize(4);
+        processingProperties.setMaxInFlightChunks(1);
+        ItemProcessor enrich = item -> item.setDescription(item.getDescription() + " (enriched)");
+        ItemProcessor validate = item -> {
+            if (item.getId() == 3L) {
+                throw new IllegalArgumentException("item 3 is invalid");
+            }
+        };
+        ReflectionTestUtils.setField(itemService, "pipeline", pipeline(enrich, validate));
+        Map<Long, Item> items = new HashMap<>();
+        for (long id = 1; id <= 4; id++) {
+            items.put(id, new Item(id, "Item" + id, "desc", ItemStatus.NEW, "user" + id + "@b.com"));
+        }
+        when(itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED)).thenReturn(List.of(ItemStatus.NEW));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(itemRepository.findAllById(anyCollection())).thenAnswer(inv -> inv.<Collection<Long>>getArgument(0).stream()
+                .map(items::get).toList());
+
+        List<Long> processed = new ArrayList<>();
+        long count = itemService.processAllInChunks(processed::addAll).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, count);
+        assertEquals(List.of(1L, 2L, 4L), processed.stream().sorted().toList());
+        processed.stream().map(items::get).forEach(item -> {
+            assertEquals(ItemStatus.PROCESSED, item.getStatus());
+            assertTrue(item.getDescription().endsWith("(enriched)"));
+        });
+        verify(itemRepository).updateStatusByIds(List.of(3L), ItemStatus.FAILED);
+        verify(itemRepository, never()).updateStatusByIds(anyCollection(), eq(ItemStatus.PROCESSED));
+        assertEquals(1.0, meterRegistry.get("items.processing.items").tag("outcome", "dead_lettered").counter().count());
+        // the enriched text is searchable
+        processed.stream().map(items::get).forEach(item -> verify(searchIndex).index(item));
+    }
+
+    @Test
+    void testProcessAllInChunks_rerunsStagesWhenAnItemChangedWhileTheyRan() throws Exception {
+        processingProperties.setRetryBackoff(Duration.ofMillis(1));
+        AtomicInteger runs = new AtomicInteger();
+        ReflectionTestUtils.setField(itemService, "pipeline", pipeline(item -> runs.incrementAndGet()));
+        Item stale = new Item(1L, "Item1", "desc", ItemStatus.NEW, "a@b.com", 0L);
+        Item changed = new Item(1L, "Renamed", "desc", ItemStatus.NEW, "a@b.com", 1L);
+        Item reloaded = new Item(1L, "Renamed", "desc", ItemStatus.NEW, "a@b.com", 1L);
+        when(itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED)).thenReturn(List.of(ItemStatus.NEW));
+        when(itemRepository.findIdsByStatusAfter(eq(ItemStatus.NEW), eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+        // load, write-back check (changed meanwhile), reload, write-back check
+        when(itemRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(stale), List.of(changed), List.of(reloaded), List.of(reloaded));
+
+        long count = itemService.processAllInChunks(items -> { }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, count);
+        assertEquals(2, runs.get());
+        assertEquals(ItemStatus.PROCESSED, reloaded.getStatus());
+        assertEquals("Renamed", reloaded.getName());
+        assertEquals(ItemStatus.NEW, changed.getStatus());
+    }
+
+    private ItemPipeline pipeline(ItemProcessor... stages) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        for (int i = 0; i < stages.length; i++) {
+            beans.addBean("stage" + i, stages[i]);
+        }
+        return new ItemPipeline(beans.getBeanProvider(ItemProcessor.class), processingProperties,
+                new ItemProcessingMetrics(meterRegistry));
     }
 }
@@ -0,0 +1,64 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares rows/sec of the status write paths on the embedded H2 database.
+ */
+class ItemStatusUpdateBenchmarkTest extends ItemBenchmarkSupport {
+
+    private static final int PAGE = 500;
+
+    private long minId;
+    private long maxId;
+
+    @BeforeEach
+    void setUp() {
+        seed(ROWS);
+        List<Long> ids = repo.findAllIds();
+        minId = ids.stream().mapToLong(Long::longValue).min().orElseThrow();
+        maxId = ids.stream().mapToLong(Long::longValue).max().orElseThrow();
+    }
+
+    @Test
+    void perItemSaveLoop() {
+        // the previous processing path: load, then one save (merge + UPDATE) per item in its own transaction
+        throughput("per-item save loop", ROWS, "rows", () -> {
+            for (Item item : repo.findAll()) {
+                item.setStatus(ItemStatus.PROCESSED);
+                repo.save(item);
+            }
+        });
+        assertEquals(ROWS, repo.countByStatus(ItemStatus.PROCESSED));
+    }
+
+    @Test
+    void batchedDirtyCheckingPerPage() {
+        // managed entities flushed through JDBC batches, one transaction per page
+        throughput("batched dirty checking", ROWS, "rows", () -> {
+            long afterId = Long.MIN_VALUE;
+            List<Long> ids;
+            while (!(ids = repo.findIdsAfter(afterId, PageRequest.ofSize(PAGE))).isEmpty()) {
+                List<Long> page = ids;
+                tx.executeWithoutResult(status -> repo.findAllById(page).forEach(item -> item.setStatus(ItemStatus.PROCESSED)));
+                afterId = ids.get(ids.size() - 1);
+            }
+        });
+        assertEquals(ROWS, repo.countByStatus(ItemStatus.PROCESSED));
+    }
+
+    @Test
+    void bulkRangeUpdate() {
+        int[] updated = new int[1];
+        throughput("set-based range update", ROWS, "rows",
+                () -> updated[0] = itemService.updateStatusInRange(minId, maxId, ItemStatus.PROCESSED));
+        assertEquals(ROWS, updated[0]);
+        assertEquals(ROWS, repo.countByStatus(ItemStatus.PROCESSED));
+    }
+}
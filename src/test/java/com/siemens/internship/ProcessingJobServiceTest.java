@@ -0,0 +1,225 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProcessingJobServiceTest {
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ProcessingCheckpointRepository checkpointRepository;
+
+    @Spy
+    private ItemProcessingProperties processingProperties = new ItemProcessingProperties();
+
+    @InjectMocks
+    private ProcessingJobService jobService;
+
+    private final CompletableFuture<Long> run = new CompletableFuture<>();
+
+    @BeforeEach
+    void openMocks() {
+        MockitoAnnotations.openMocks(this);
+        processingProperties.setMaxConcurrentJobs(1);
+        jobService.init();
+        when(itemRepository.count()).thenReturn(10L);
+        when(itemRepository.findStatusesOtherThan(ItemStatus.PROCESSED))
+                .thenReturn(List.of(ItemStatus.NEW, ItemStatus.FAILED));
+        when(itemRepository.countByStatus(ItemStatus.NEW)).thenReturn(3L);
+        when(itemRepository.countByStatus(ItemStatus.FAILED)).thenReturn(4L);
+        when(itemService.processAllInChunks(any(), any())).thenReturn(run);
+    }
+
+    @Test
+    void start_tracksProgressUntilCompletion() {
+        ProcessingJob job = jobService.start();
+        job.onChunkProcessed(List.of(1L));
+        job.onChunkFailed(List.of(2L, 3L), new RuntimeException("Boom"));
+
+        ProcessingJob.Status running = jobService.find(job.getId()).orElseThrow().status();
+        assertEquals(ProcessingJob.State.RUNNING, running.state());
+        assertEquals(3, running.total());
+        assertEquals(1, running.processed());
+        assertEquals(2, running.failed());
+
+        run.complete(1L);
+        assertEquals(ProcessingJob.State.COMPLETED, job.getState());
+    }
+
+    @Test
+    void start_countsEveryItemWhenNotIncremental() {
+        processingProperties.setIncremental(false);
+
+        assertEquals(10, jobService.start().status().total());
+    }
+
+    @Test
+    void start_finishesJobAndFreesSlotWhenCheckpointCleanupFails() {
+        processingProperties.setResumeInterruptedJobs(true);
+        doThrow(new CannotCreateTransactionException("pool exhausted")).when(checkpointRepository).deleteById(any());
+        ProcessingJob job = jobService.start();
+
+        run.complete(0L);
+
+        assertEquals(ProcessingJob.State.COMPLETED, job.getState());
+        when(itemService.processAllInChunks(any(), any())).thenReturn(new CompletableFuture<>());
+        assertDoesNotThrow(() -> jobService.start());
+    }
+
+    @Test
+    void failures_reportsEveryFailedItemWithItsReason() {
+        ProcessingJob job = jobService.start();
+        job.onChunkFailed(List.of(2L, 3L), new QueryTimeoutException("slow"));
+        job.onItemDeadLettered(5L, new IllegalStateException("broken"));
+
+        CursorPage<ProcessingJob.Failure> first = jobService.failures(job, 0, 2);
+        assertEquals(List.of(new ProcessingJob.Failure(2L, "QueryTimeoutException", false),
+                new ProcessingJob.Failure(3L, "QueryTimeoutException", false)), first.items());
+        assertEquals(2L, first.nextCursor());
+        assertEquals(List.of(new ProcessingJob.Failure(5L, "IllegalStateException", true)),
+                jobService.failures(job, 2, 2).items());
+        assertEquals(3, job.status().failed());
+        assertEquals(ProcessingJob.CHUNK_FAILED, job.status().error());
+    }
+
+    @Test
+    void status_doesNotExposeTheFailureMessage() {
+        ProcessingJob job = jobService.start();
+
+        run.completeExceptionally(new IllegalStateException("SQL [select secret from users]"));
+
+        assertEquals(ProcessingJob.State.FAILED, job.getState());
+        assertEquals(ProcessingJob.JOB_FAILED, job.status().error());
+    }
+
+    @Test
+    void requeueFailures_requeuesOnlyDeadLetteredItems() {
+        ProcessingJob job = jobService.start();
+        job.onChunkFailed(List.of(2L), new QueryTimeoutException("slow"));
+        job.onItemDeadLettered(5L, new IllegalStateException("broken"));
+        job.onItemDeadLettered(7L, new IllegalStateException("broken"));
+        when(itemService.requeueDeadLetters(List.of(5L, 7L))).thenReturn(2);
+
+        assertEquals(2, jobService.requeueFailures(job));
+    }
+
+    @Test
+    void start_rejectedWhileMaxJobsRunning() {
+        jobService.start();
+        assertThrows(RejectedExecutionException.class, () -> jobService.start());
+
+        run.complete(0L);
+        // the permit is released once the running job completes
+        CompletableFuture<Long> next = new CompletableFuture<>();
+        when(itemService.processAllInChunks(any(), any())).thenReturn(next);
+        assertNotNull(jobService.start());
+    }
+
+    @Test
+    void cancel_stopsWorkersAndEndsCancelled() {
+        ProcessingJob job = jobService.start();
+
+        assertTrue(jobService.cancel(job.getId()).isPresent());
+        assertTrue(job.isCancelled());
+        assertEquals(ProcessingJob.State.CANCELLING, job.getState());
+
+        run.complete(0L);
+        assertEquals(ProcessingJob.State.CANCELLED, job.getState());
+        assertTrue(jobService.cancel("unknown").isEmpty());
+    }
+
+    @Test
+    void results_pagesInProcessingOrderAndSkipsDeletedItems() {
+        ProcessingJob job = jobService.start();
+        Item item5 = new Item(5L, "E", "d", ItemStatus.PROCESSED, "e@b.com");
+        Item item2 = new Item(2L, "B", "d", ItemStatus.PROCESSED, "b@b.com");
+        job.onChunkProcessed(List.of(5L, 9L));
+        job.onChunkProcessed(List.of(2L));
+        when(itemRepository.findViewsByIdIn(List.of(5L, 9L))).thenReturn(List.of(ItemView.of(item5)));
+        when(itemRepository.findViewsByIdIn(List.of(2L))).thenReturn(List.of(ItemView.of(item2)));
+
+        CursorPage<ItemView> first = jobService.results(job, 0, 2);
+        assertEquals(List.of(ItemView.of(item5)), first.items());
+        assertEquals(2L, first.nextCursor());
+
+        CursorPage<ItemView> second = jobService.results(job, 2, 2);
+        assertEquals(List.of(ItemView.of(item2)), second.items());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void results_keepOnlyTheFirstReportedIdsButCountEveryItem() {
+        ProcessingJob job = new ProcessingJob("capped", 0);
+        List<Long> chunk = new ArrayList<>();
+        for (long id = 1; id <= ProcessingJob.MAX_REPORTED_RESULTS + 5; id++) {
+            chunk.add(id);
+        }
+        job.onChunkProcessed(chunk);
+
+        assertEquals(ProcessingJob.MAX_REPORTED_RESULTS + 5, job.status().processed());
+        assertEquals(List.of((long) ProcessingJob.MAX_REPORTED_RESULTS),
+                job.processedIds(ProcessingJob.MAX_REPORTED_RESULTS - 1, 10));
+        assertEquals(List.of(), job.processedIds(ProcessingJob.MAX_REPORTED_RESULTS, 10));
+    }
+
+    @Test
+    void resumeInterruptedJobs_restartsFromCheckpointAndRecordsProgress() {
+        processingProperties.setResumeInterruptedJobs(true);
+        ProcessingCheckpoint checkpoint = new ProcessingCheckpoint("old-job", ItemStatus.NEW, 42L, true, Instant.now());
+        when(checkpointRepository.findAll()).thenReturn(List.of(checkpoint));
+
+        jobService.resumeInterruptedJobs();
+
+        ArgumentCaptor<ProcessingListener> listener = ArgumentCaptor.forClass(ProcessingListener.class);
+        verify(itemService).processAllInChunks(listener.capture(), eq(new ProcessingPosition(ItemStatus.NEW, 42L)));
+        verify(checkpointRepository).delete(checkpoint);
+
+        listener.getValue().onCheckpoint(new ProcessingPosition(ItemStatus.NEW, 50L));
+        ArgumentCaptor<ProcessingCheckpoint> saved = ArgumentCaptor.forClass(ProcessingCheckpoint.class);
+        verify(checkpointRepository).save(saved.capture());
+        assertEquals(50L, saved.getValue().getLastId());
+        assertTrue(saved.getValue().isIncremental());
+
+        run.complete(1L);
+        verify(checkpointRepository).deleteById(saved.getValue().getJobId());
+    }
+
+    @Test
+    void resumeInterruptedJobs_restartsFromScratchWhenModeChanged() {
+        processingProperties.setResumeInterruptedJobs(true);
+        processingProperties.setIncremental(false);
+        ProcessingCheckpoint checkpoint = new ProcessingCheckpoint("old-job", ItemStatus.FAILED, 42L, true, Instant.now());
+        when(checkpointRepository.findAll()).thenReturn(List.of(checkpoint));
+
+        jobService.resumeInterruptedJobs();
+
+        verify(itemService).processAllInChunks(any(), isNull());
+        verify(checkpointRepository).delete(checkpoint);
+    }
+
+    @Test
+    void resumeInterruptedJobs_disabledByDefault() {
+        jobService.resumeInterruptedJobs();
+
+        verifyNoInteractions(checkpointRepository);
+    }
+}
@@ -0,0 +1,28 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("startup")
+class StartupProfileTest {
+
+	@Autowired
+	private ConfigurableApplicationContext context;
+
+	@Test
+	void beansAreLazyExceptStartupWork() {
+		assertTrue(context.getBeanFactory().containsSingleton("itemSearchIndex"));
+		assertFalse(context.getBeanFactory().containsSingleton("itemController"));
+
+		assertNotNull(context.getBean(ItemController.class));
+		assertTrue(context.getBeanFactory().containsSingleton("itemController"));
+	}
+}